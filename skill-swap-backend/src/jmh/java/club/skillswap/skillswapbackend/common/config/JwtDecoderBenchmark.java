@@ -0,0 +1,91 @@
+package club.skillswap.skillswapbackend.common.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个请求的认证开销：直接用 NimbusJwtDecoder 验签 vs 先查已验证 JWT 缓存。
+ * 不需要数据库。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtDecoderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtDecoder nimbus;
+    private CachingJwtDecoder caching;
+    private JwtConverter converter;
+    private String token;
+    private Jwt decoded;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        SecretKeySpec key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        nimbus = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        caching = new CachingJwtDecoder(nimbus, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        converter = new JwtConverter();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(UUID.randomUUID().toString())
+                .claim("email", "bench@example.com")
+                .claim("app_metadata", Map.of("roles", List.of("ADMIN", "PARTNER")))
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+        token = jwt.serialize();
+        decoded = nimbus.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeUncached() {
+        return nimbus.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCached() {
+        return caching.decode(token);
+    }
+
+    // 只有 Jwt -> Authentication 的转换（角色解析有缓存）
+    @Benchmark
+    public AbstractAuthenticationToken convertOnly() {
+        return converter.convert(decoded);
+    }
+
+    // 完整的认证路径：解码 + 转换成 Authentication
+    @Benchmark
+    public AbstractAuthenticationToken authenticateUncached() {
+        return converter.convert(nimbus.decode(token));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken authenticateCached() {
+        return converter.convert(caching.decode(token));
+    }
+}
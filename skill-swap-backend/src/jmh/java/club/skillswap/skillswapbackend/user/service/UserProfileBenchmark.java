@@ -0,0 +1,65 @@
+package club.skillswap.skillswapbackend.user.service;
+
+import club.skillswap.skillswapbackend.skill.entity.Skill;
+import club.skillswap.skillswapbackend.user.dto.UserProfileDto;
+import club.skillswap.skillswapbackend.user.entity.UserAccount;
+import club.skillswap.skillswapbackend.user.entity.UserSkill;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户资料相关的纯 CPU 路径：实体转 UserProfileDto，以及技能名的标准化。不需要数据库。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserProfileBenchmark {
+
+    // 放在字段里，避免被当成常量折叠
+    private String rawSkill = "  Machine Learning  ";
+
+    // 技能数只影响 fromEntity，放在单独的 State 里，normalizeSkill 不会跟着跑三遍
+    @State(Scope.Benchmark)
+    public static class Profile {
+
+        @Param({"0", "10", "50"})
+        int skills;
+
+        UserAccount user;
+
+        @Setup
+        public void setUp() {
+            user = new UserAccount();
+            user.setId(UUID.randomUUID());
+            user.setUsername("bench_user");
+            user.setAvatarUrl("https://example.com/avatar.png");
+            user.setBio("Likes teaching and learning.");
+            user.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+            user.setUpdatedAt(Instant.parse("2026-06-01T00:00:00Z"));
+            for (int i = 0; i < skills; i++) {
+                Skill skill = new Skill();
+                skill.setId(i + 1);
+                skill.setName("skill " + i);
+                UserSkill userSkill = new UserSkill();
+                userSkill.setSkill(skill);
+                userSkill.setUser(user);
+                userSkill.setSkillLevel("intermediate");
+                user.getSkills().add(userSkill);
+            }
+        }
+    }
+
+    @Benchmark
+    public UserProfileDto fromEntity(Profile profile) {
+        return UserProfileDto.fromEntity(profile.user);
+    }
+
+    @Benchmark
+    public String normalizeSkill() {
+        return UserService.normalizeSkill(rawSkill);
+    }
+}
@@ -0,0 +1,88 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopCursor;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopQuery;
+import club.skillswap.skillswapbackend.workshop.entity.Workshop;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WorkshopListingBenchmark 的实体路径：先按 keyset 查出一页 ID，再一次性加载这一页的实体。
+ * 列表接口已改走 WorkshopReadRepository，这套查询只留作基准测试的对照，不放进应用代码。
+ * 传入的 EntityManager 要能参与当前事务（共享 EntityManager）。
+ */
+class WorkshopEntityPageQuery {
+
+    private final EntityManager entityManager;
+
+    WorkshopEntityPageQuery(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 按 (date, time, id) 做 keyset 分页，只查出当前页的 ID。
+     * 最多返回 query.limit() + 1 条，多出来的那一条用来判断是否还有下一页。
+     */
+    List<Long> findPageIds(WorkshopQuery query) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (query.category() != null) {
+            conditions.add("w.category = :category");
+            params.put("category", query.category());
+        }
+        if (query.skillLevel() != null) {
+            conditions.add("w.skillLevel = :skillLevel");
+            params.put("skillLevel", query.skillLevel());
+        }
+        if (query.isOnline() != null) {
+            conditions.add("w.isOnline = :isOnline");
+            params.put("isOnline", query.isOnline());
+        }
+        if (query.status() != null) {
+            conditions.add("w.status = :status");
+            params.put("status", query.status());
+        }
+        if (query.dateFrom() != null) {
+            conditions.add("w.date >= :dateFrom");
+            params.put("dateFrom", query.dateFrom());
+        }
+        if (query.dateTo() != null) {
+            conditions.add("w.date <= :dateTo");
+            params.put("dateTo", query.dateTo());
+        }
+        if (!query.tags().isEmpty()) {
+            conditions.add("exists (select 1 from w.tags tag where tag in :tags)");
+            params.put("tags", query.tags());
+        }
+        WorkshopCursor after = query.after();
+        if (after != null) {
+            conditions.add("(w.date, w.time, w.id) > (:afterDate, :afterTime, :afterId)");
+            params.put("afterDate", after.date());
+            params.put("afterTime", after.time());
+            params.put("afterId", after.id());
+        }
+
+        String hql = "select w.id from Workshop w"
+                + (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+                + " order by w.date, w.time, w.id";
+        TypedQuery<Long> typed = entityManager.createQuery(hql, Long.class);
+        params.forEach(typed::setParameter);
+        return typed.setMaxResults(query.limit() + 1).getResultList();
+    }
+
+    List<Workshop> findAllWithFacilitatorByIdIn(Collection<Long> ids) {
+        return entityManager.createQuery("""
+                        select w from Workshop w
+                        left join fetch w.facilitator
+                        where w.id in :ids
+                        """, Workshop.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
@@ -0,0 +1,142 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.SkillSwapBackendApplication;
+import club.skillswap.skillswapbackend.user.entity.UserAccount;
+import club.skillswap.skillswapbackend.user.repository.UserRepository;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopQuery;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.entity.Workshop;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopReadRepository;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workshop 列表两条读路径的对比：
+ * entity = 原来的做法（加载实体 + 触发四个集合的 SUBSELECT + mapToDto），
+ * projection = WorkshopReadRepository 的单条聚合 SQL。
+ * 两边都直接查库：WorkshopService 的读方法走 WorkshopCache，热身之后测的只是缓存命中。
+ *
+ * 需要一个可用的数据库（读取 .env），表里不足 SEED_SIZE 条时会自动补数据。
+ * 加上 -prof gc 可以同时比较每次调用的内存分配。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkshopListingBenchmark {
+
+    private static final int SEED_SIZE = 500;
+
+    @Param({"20", "100"})
+    int limit;
+
+    private ConfigurableApplicationContext context;
+    private WorkshopRepository workshopRepository;
+    private WorkshopReadRepository workshopReadRepository;
+    private WorkshopEntityPageQuery entityPageQuery;
+    private TransactionTemplate readOnlyTx;
+    private WorkshopQuery query;
+    private Long sampleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SkillSwapBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        workshopRepository = context.getBean(WorkshopRepository.class);
+        workshopReadRepository = context.getBean(WorkshopReadRepository.class);
+        entityPageQuery = new WorkshopEntityPageQuery(
+                SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class)));
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+
+        seedIfNeeded();
+        query = new WorkshopQuery(null, null, null, null, null, null, null, null, limit);
+        sampleId = readOnlyTx.execute(status -> entityPageQuery.findPageIds(query).get(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<WorkshopResponseDto> listEntityPath() {
+        return readOnlyTx.execute(status -> {
+            List<Long> ids = entityPageQuery.findPageIds(query);
+            List<Workshop> workshops = entityPageQuery.findAllWithFacilitatorByIdIn(ids);
+            workshops.forEach(w -> {
+                w.getLocation().size();
+                w.getTags().size();
+                w.getMaterials().size();
+                w.getRequirements().size();
+            });
+            return workshops.stream().map(WorkshopServiceImpl::mapToDto).toList();
+        });
+    }
+
+    @Benchmark
+    public List<WorkshopResponseDto> listProjectionPath() {
+        return readOnlyTx.execute(status -> workshopReadRepository.findPage(query));
+    }
+
+    @Benchmark
+    public WorkshopResponseDto byIdEntityPath() {
+        return readOnlyTx.execute(status ->
+                WorkshopServiceImpl.mapToDto(workshopRepository.findByIdWithDetails(sampleId).orElseThrow()));
+    }
+
+    @Benchmark
+    public WorkshopResponseDto byIdProjectionPath() {
+        return readOnlyTx.execute(status -> workshopReadRepository.findDtoById(sampleId).orElseThrow());
+    }
+
+    private void seedIfNeeded() {
+        long existing = workshopRepository.count();
+        if (existing >= SEED_SIZE) {
+            return;
+        }
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.executeWithoutResult(status -> {
+            UserAccount host = new UserAccount();
+            host.setId(UUID.randomUUID());
+            host.setUsername("bench_" + host.getId().toString().substring(0, 8));
+            userRepository.save(host);
+
+            for (long i = existing; i < SEED_SIZE; i++) {
+                Workshop w = new Workshop();
+                w.setTitle("Benchmark workshop " + i);
+                w.setDescription("Seeded by WorkshopListingBenchmark");
+                w.setCategory("Benchmark");
+                w.setSkillLevel("Beginner");
+                w.setDuration(60);
+                w.setDate(LocalDate.now().plusDays(i % 90));
+                w.setTime(LocalTime.of(9 + (int) (i % 10), 0));
+                w.setOnline(true);
+                w.setLocation(Set.of("Online"));
+                w.setMaxParticipants(20);
+                w.setCreditReward(5);
+                w.setTags(Set.of("bench", "tag" + (i % 7)));
+                w.setMaterials(Set.of("Slides"));
+                w.setRequirements(Set.of("Laptop"));
+                w.setFacilitator(host);
+                workshopRepository.save(w);
+            }
+        });
+    }
+}
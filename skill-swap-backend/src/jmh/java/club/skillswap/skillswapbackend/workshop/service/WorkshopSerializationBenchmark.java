@@ -0,0 +1,85 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.user.entity.UserAccount;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.entity.Workshop;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workshop 响应的 CPU 开销：实体转 DTO（mapToDto），以及 DTO 列表序列化成 JSON。
+ * size 覆盖一页（10）、一次导出量级（1k）和极端的大列表（100k）。不需要数据库。
+ *
+ * ObjectMapper 用 Jackson2ObjectMapperBuilder 构建，和 Spring MVC 写响应时的配置一致；
+ * 输出写到空的 OutputStream，不把缓冲区扩容算进去。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkshopSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<Workshop> entities;
+    private List<WorkshopResponseDto> dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        UserAccount facilitator = new UserAccount();
+        facilitator.setId(UUID.randomUUID());
+        facilitator.setUsername("facilitator");
+        facilitator.setAvatarUrl("https://example.com/avatar.png");
+
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Workshop w = new Workshop();
+            w.setId((long) i + 1);
+            w.setTitle("Workshop " + i);
+            w.setDescription("A hands-on session about topic number " + i + ", bring a laptop.");
+            w.setCategory("Technology");
+            w.setSkillLevel("Beginner");
+            w.setDuration(90);
+            w.setDate(LocalDate.of(2030, 1, 1).plusDays(i % 365));
+            w.setTime(LocalTime.of(10, 0));
+            w.setOnline(i % 2 == 0);
+            w.setLocation(Set.of("Room " + (i % 20)));
+            w.setMaxParticipants(20);
+            w.setCreditReward(5);
+            w.setTags(Set.of("java", "backend"));
+            w.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0));
+            w.setFacilitator(facilitator);
+            entities.add(w);
+        }
+        dtos = entities.stream().map(WorkshopServiceImpl::mapToDto).toList();
+    }
+
+    @Benchmark
+    public List<WorkshopResponseDto> mapToDto() {
+        List<WorkshopResponseDto> result = new ArrayList<>(entities.size());
+        for (Workshop w : entities) {
+            result.add(WorkshopServiceImpl.mapToDto(w));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+}
@@ -0,0 +1,272 @@
+package club.skillswap.skillswapbackend.loadtest;
+
+import club.skillswap.skillswapbackend.SkillSwapBackendApplication;
+import club.skillswap.skillswapbackend.common.audit.AuditLogger;
+import club.skillswap.skillswapbackend.common.dto.AuditStatsDto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 端到端压测：在本进程里启动整个应用（随机端口，数据库按 .env 配置），
+ * 用配置的 HS256 密钥给一批测试用户签发 token，然后依次对每个场景做开环压测，
+ * 输出吞吐、延迟百分位和 HdrHistogram 分布。不访问任何外部服务。
+ *
+ * 参数都是 load.* 系统属性，gradle loadTest 会把 -Pload.xxx 原样传进来：
+ * <ul>
+ *   <li>load.scenarios：要跑的场景，默认 list,detail,me,create；另有 leaderboard（带 token，不访问数据库）</li>
+ *   <li>load.rate：每秒请求数，默认 200；load.rate.create 这种写法可以单独指定某个场景</li>
+ *   <li>load.concurrency：同时在途的请求上限，默认 32</li>
+ *   <li>load.warmup / load.duration：每个场景预热和计时的时长，默认 5s / 30s</li>
+ *   <li>load.users：测试用户数，默认 20</li>
+ *   <li>load.timeout：单个请求的超时，默认 60s（要比 Hikari 的 connection-timeout 长）</li>
+ *   <li>load.output：结果目录，默认 build/results/loadtest</li>
+ *   <li>load.background：计时的同时在后台跑的场景，用来把连接池压满，例如 create；
+ *       load.background.rate / load.background.concurrency 分别是它的速率和在途上限（默认 500 / 400）</li>
+ * </ul>
+ * 后台场景能看出不访问数据库的接口在连接池饱和时延迟会不会跟着变差
+ * （平台线程模式下 Tomcat 线程都卡在等连接上，虚拟线程模式下不会）。
+ * 跑完会删掉测试用户和压测期间创建的 workshop。
+ */
+public class LoadTest {
+
+    private static final String API = "/api/v1";
+
+    private final ConfigurableApplicationContext context;
+    private final OpenLoopDriver driver;
+    private final String baseUrl;
+    private final String category = "loadtest_" + UUID.randomUUID().toString().substring(0, 8);
+    private final List<UUID> users = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final AtomicInteger nextUser = new AtomicInteger();
+    private long sampleWorkshopId;
+
+    LoadTest(ConfigurableApplicationContext context, OpenLoopDriver driver) {
+        this.context = context;
+        this.driver = driver;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = "http://localhost:" + port + API;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> scenarios = List.of(setting("load.scenarios", "list,detail,me,create").split(","));
+        int concurrency = Integer.parseInt(setting("load.concurrency", "32"));
+        Duration warmup = duration("load.warmup", "5s");
+        Duration duration = duration("load.duration", "30s");
+        Duration timeout = duration("load.timeout", "60s");
+        int userCount = Integer.parseInt(setting("load.users", "20"));
+        Path output = Path.of(setting("load.output", "build/results/loadtest"));
+        String background = setting("load.background", "").trim();
+        int backgroundRate = Integer.parseInt(setting("load.background.rate", "500"));
+        int backgroundConcurrency = Integer.parseInt(setting("load.background.concurrency", "400"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SkillSwapBackendApplication.class)
+                .run("--server.port=0", "--management.server.port=0");
+        try (OpenLoopDriver driver = new OpenLoopDriver(concurrency, timeout);
+             OpenLoopDriver backgroundDriver = new OpenLoopDriver(backgroundConcurrency, timeout)) {
+            LoadTest test = new LoadTest(context, driver);
+            try {
+                test.setUp(userCount);
+                List<ScenarioResult> results = new ArrayList<>();
+                System.out.println();
+                System.out.println(ScenarioResult.header());
+                for (String name : scenarios) {
+                    name = name.trim();
+                    int rate = Integer.parseInt(setting("load.rate." + name, setting("load.rate", "200")));
+                    Supplier<HttpRequest> requests = test.scenario(name);
+                    CompletableFuture<ScenarioResult> load = background.isEmpty() ? null
+                            : test.runInBackground(backgroundDriver, background, backgroundRate, warmup.plus(duration),
+                                    timeout, name);
+                    if (!warmup.isZero()) {
+                        driver.run(name, requests, rate, warmup, timeout);
+                    }
+                    ScenarioResult result = driver.run(name, requests, rate, duration, timeout);
+                    System.out.println(result.line());
+                    result.writeHistograms(output);
+                    results.add(result);
+                    if (load != null) {
+                        ScenarioResult backgroundResult = load.join();
+                        System.out.println(backgroundResult.line());
+                        backgroundResult.writeHistograms(output);
+                        results.add(backgroundResult);
+                    }
+                }
+                test.writeSummary(output, results, concurrency, warmup, duration);
+                System.out.println("\nHistograms and summary.json written to " + output.toAbsolutePath());
+            } finally {
+                test.cleanUp();
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * 每个测试用户先访问一次 /users/me（第一次访问时建用户），再建一个 workshop 给详情场景用。
+     */
+    void setUp(int userCount) throws Exception {
+        String secret = context.getEnvironment().getRequiredProperty("JWT_HS256_SECRET");
+        for (int i = 0; i < userCount; i++) {
+            UUID id = UUID.randomUUID();
+            users.add(id);
+            tokens.add(mintToken(secret, id));
+        }
+        HttpClient client = driver.client();
+        for (String token : tokens) {
+            expectOk(client.send(authorized(driver.request(baseUrl + "/users/me")).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        HttpResponse<String> created = client.send(createWorkshop().get(), HttpResponse.BodyHandlers.ofString());
+        expectOk(created);
+        String id = context.getBean(ObjectMapper.class).readTree(created.body()).get("id").asText();
+        sampleWorkshopId = Long.parseLong(id.substring(id.indexOf('_') + 1));
+    }
+
+    Supplier<HttpRequest> scenario(String name) {
+        return switch (name) {
+            case "list" -> {
+                HttpRequest request = driver.request(baseUrl + "/workshops").GET().build();
+                yield () -> request;
+            }
+            case "detail" -> {
+                HttpRequest request = driver.request(baseUrl + "/workshops/" + sampleWorkshopId).GET().build();
+                yield () -> request;
+            }
+            case "me" -> () -> authorized(driver.request(baseUrl + "/users/me")).GET().build();
+            case "create" -> createWorkshop();
+            case "leaderboard" -> () -> authorized(driver.request(baseUrl + "/users/leaderboard")).GET().build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + name
+                    + " (expected list, detail, me, create or leaderboard)");
+        };
+    }
+
+    /**
+     * 在单独的线程里跑后台场景，结果名记成 background-&lt;场景&gt;-during-&lt;计时的场景&gt;。
+     */
+    private CompletableFuture<ScenarioResult> runInBackground(OpenLoopDriver backgroundDriver, String name, int rate,
+                                                              Duration duration, Duration timeout, String during) {
+        Supplier<HttpRequest> requests = scenario(name);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return backgroundDriver.run("background-" + name + "-during-" + during, requests, rate, duration,
+                        timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private Supplier<HttpRequest> createWorkshop() {
+        String body = """
+                {"title": "Load test", "description": "Created by LoadTest", "category": "%s",
+                 "skillLevel": "Beginner", "duration": 60, "date": "2030-01-01", "time": "10:00",
+                 "isOnline": true, "maxParticipants": 10, "creditReward": 0, "tags": ["loadtest"]}
+                """.formatted(category);
+        return () -> authorized(driver.request(baseUrl + "/workshops"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // 轮流使用测试用户，避免所有请求都落在同一个用户上
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        String token = tokens.get(Math.floorMod(nextUser.getAndIncrement(), tokens.size()));
+        return builder.header("Authorization", "Bearer " + token);
+    }
+
+    private void writeSummary(Path output, List<ScenarioResult> results, int concurrency,
+                              Duration warmup, Duration duration) throws Exception {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("startedAt", Instant.now().toString());
+        summary.put("concurrency", concurrency);
+        summary.put("warmup", warmup.toString());
+        summary.put("duration", duration.toString());
+        summary.put("hikariMaximumPoolSize",
+                context.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size"));
+        summary.put("virtualThreads", context.getEnvironment().getProperty("spring.threads.virtual.enabled"));
+        summary.put("javaVersion", Runtime.version().toString());
+        summary.put("scenarios", results.stream().map(ScenarioResult::summary).toList());
+        context.getBean(ObjectMapper.class).copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.resolve("summary.json").toFile(), summary);
+    }
+
+    /**
+     * 审计日志是异步写的，先等队列写完，再删测试数据，否则删用户时外键会挡住。
+     */
+    void cleanUp() throws InterruptedException {
+        AuditLogger auditLogger = context.getBean(AuditLogger.class);
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        AuditStatsDto stats;
+        while ((stats = auditLogger.stats()).enqueued() > stats.written() + stats.failed()
+                && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        String workshops = "select id from workshops where category = ?";
+        jdbc.update("delete from workshop_participants where workshop_id in (" + workshops + ")", category);
+        jdbc.update("delete from workshop_tags where workshop_id in (" + workshops + ")", category);
+        jdbc.update("delete from workshops where category = ?", category);
+        for (UUID id : users) {
+            jdbc.update("delete from audit_log where actor_id = ?", id);
+            jdbc.update("delete from user_account where id = ?", id);
+        }
+    }
+
+    private static String mintToken(String secret, UUID subject) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject.toString())
+                .claim("email", subject + "@loadtest.local")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(2))))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(secret.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+
+    private static void expectOk(HttpResponse<String> response) {
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Setup request " + response.request().uri()
+                    + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static String setting(String key, String defaultValue) {
+        return System.getProperty(key, defaultValue);
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(setting(key, defaultValue));
+    }
+}
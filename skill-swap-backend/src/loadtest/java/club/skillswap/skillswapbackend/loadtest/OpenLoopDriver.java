@@ -0,0 +1,108 @@
+package club.skillswap.skillswapbackend.loadtest;
+
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 开环压测：按固定速率发请求，不管前面的请求有没有返回。
+ * 请求先进队列，由 concurrency 个线程发出，所以同时在途的请求最多 concurrency 个，多出来的在客户端排队。
+ *
+ * 响应时间从"计划发出的时刻"算起，包含在客户端排队的时间，避免 coordinated omission：
+ * 服务端卡住时，闭环压测会跟着少发请求，测出来的延迟偏乐观。
+ * 服务时间从真正发出请求算起，两者的差就是排队时间。
+ */
+class OpenLoopDriver implements AutoCloseable {
+
+    private final HttpClient client;
+    private final ExecutorService workers;
+    private final Duration requestTimeout;
+
+    OpenLoopDriver(int concurrency, Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "load-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * 以 rate 次/秒的速率跑 duration 这么久，再等在途的请求全部返回（最多 drainTimeout）。
+     */
+    ScenarioResult run(String name, Supplier<HttpRequest> requests, int rate, Duration duration,
+                       Duration drainTimeout) throws InterruptedException {
+        Recorder responseTime = new Recorder(3);
+        Recorder serviceTime = new Recorder(3);
+        LongAdder ok = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicLong outstanding = new AtomicLong();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        for (long intended = start; intended < end; intended = start + ++sent * intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduledAt = intended;
+            HttpRequest request = requests.get();
+            outstanding.incrementAndGet();
+            workers.execute(() -> {
+                long sentAt = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    (response.statusCode() < 400 ? ok : failed).increment();
+                } catch (Exception e) {
+                    // 超时、连接被拒等，同样记录耗时
+                    errors.increment();
+                } finally {
+                    long doneAt = System.nanoTime();
+                    responseTime.recordValue(doneAt - scheduledAt);
+                    serviceTime.recordValue(doneAt - sentAt);
+                    outstanding.decrementAndGet();
+                }
+            });
+        }
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new ScenarioResult(name, rate, sent, ok.sum(), failed.sum(), errors.sum(), outstanding.get(),
+                elapsed, responseTime.getIntervalHistogram(), serviceTime.getIntervalHistogram());
+    }
+
+    HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(requestTimeout);
+    }
+
+    HttpClient client() {
+        return client;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
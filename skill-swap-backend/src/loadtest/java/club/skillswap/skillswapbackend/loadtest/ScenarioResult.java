@@ -0,0 +1,99 @@
+package club.skillswap.skillswapbackend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一个场景的压测结果。延迟按纳秒记录，报告里换算成毫秒。
+ *
+ * @param sent        计划内发出的请求数
+ * @param ok          状态码 < 400
+ * @param failed      状态码 >= 400
+ * @param errors      没有拿到响应（超时、连接失败）
+ * @param unfinished  等待超时后仍在途的请求
+ * @param elapsedNanos 从第一个请求计划发出到最后一个请求返回
+ */
+record ScenarioResult(
+        String name,
+        int targetRate,
+        long sent,
+        long ok,
+        long failed,
+        long errors,
+        long unfinished,
+        long elapsedNanos,
+        Histogram responseTime,
+        Histogram serviceTime
+) {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    double throughput() {
+        return (ok + failed) / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * 写出 HdrHistogram 的百分位分布（.hgrm，可以直接用 HdrHistogram 的 plotter 画图）。
+     */
+    void writeHistograms(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+            responseTime.outputPercentileDistribution(out, NANOS_PER_MS);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + "-service.hgrm")))) {
+            serviceTime.outputPercentileDistribution(out, NANOS_PER_MS);
+        }
+    }
+
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", name);
+        summary.put("targetRate", targetRate);
+        summary.put("throughput", round(throughput()));
+        summary.put("sent", sent);
+        summary.put("ok", ok);
+        summary.put("failed", failed);
+        summary.put("errors", errors);
+        summary.put("unfinished", unfinished);
+        summary.put("responseTimeMs", percentiles(responseTime));
+        summary.put("serviceTimeMs", percentiles(serviceTime));
+        return summary;
+    }
+
+    String line() {
+        return String.format("%-12s %7d %9.1f %7d %6d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                name, targetRate, throughput(), ok, failed + errors + unfinished,
+                ms(responseTime.getValueAtPercentile(50)), ms(responseTime.getValueAtPercentile(90)),
+                ms(responseTime.getValueAtPercentile(99)), ms(responseTime.getValueAtPercentile(99.9)),
+                ms(responseTime.getMaxValue()));
+    }
+
+    static String header() {
+        return String.format("%-12s %7s %9s %7s %6s %9s %9s %9s %9s %9s",
+                "scenario", "rate", "req/s", "ok", "bad", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("p50", round(ms(histogram.getValueAtPercentile(50))));
+        values.put("p90", round(ms(histogram.getValueAtPercentile(90))));
+        values.put("p99", round(ms(histogram.getValueAtPercentile(99))));
+        values.put("p99.9", round(ms(histogram.getValueAtPercentile(99.9))));
+        values.put("max", round(ms(histogram.getMaxValue())));
+        return values;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / NANOS_PER_MS;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
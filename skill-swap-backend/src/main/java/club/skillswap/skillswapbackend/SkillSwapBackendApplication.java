@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import javax.sql.DataSource; 
 import java.sql.ResultSet;
@@ -13,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class SkillSwapBackendApplication {
 
 	private static final Logger log = LoggerFactory.getLogger(SkillSwapBackendApplication.class);
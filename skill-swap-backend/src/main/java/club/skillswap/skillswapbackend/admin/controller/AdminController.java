@@ -1,18 +1,107 @@
 package club.skillswap.skillswapbackend.admin.controller;
 
+import club.skillswap.skillswapbackend.common.audit.AuditLogService;
+import club.skillswap.skillswapbackend.common.audit.AuditLogger;
+import club.skillswap.skillswapbackend.common.config.CachingJwtDecoder;
+import club.skillswap.skillswapbackend.common.config.JwtConverter;
+import club.skillswap.skillswapbackend.common.dto.AuditCursor;
+import club.skillswap.skillswapbackend.common.dto.AuditPageDto;
+import club.skillswap.skillswapbackend.common.dto.AuditQuery;
+import club.skillswap.skillswapbackend.common.dto.AuditStatsDto;
+import club.skillswap.skillswapbackend.common.dto.CacheStatsDto;
+import club.skillswap.skillswapbackend.user.service.RatingSummaryRepairJob;
+import club.skillswap.skillswapbackend.workshop.service.WorkshopCache;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/admin")
 public class AdminController {
 
+    private final WorkshopCache workshopCache;
+    private final CachingJwtDecoder jwtDecoder;
+    private final JwtConverter jwtConverter;
+    private final RatingSummaryRepairJob ratingRepairJob;
+    private final AuditLogger auditLogger;
+    private final AuditLogService auditLogService;
+
+    public AdminController(WorkshopCache workshopCache, CachingJwtDecoder jwtDecoder, JwtConverter jwtConverter,
+                           RatingSummaryRepairJob ratingRepairJob, AuditLogger auditLogger,
+                           AuditLogService auditLogService) {
+        this.workshopCache = workshopCache;
+        this.jwtDecoder = jwtDecoder;
+        this.jwtConverter = jwtConverter;
+        this.ratingRepairJob = ratingRepairJob;
+        this.auditLogger = auditLogger;
+        this.auditLogService = auditLogService;
+    }
+
     @GetMapping("/hello")
     @PreAuthorize("hasRole('ADMIN')") // 关键！只有拥有 'ROLE_ADMIN' 权限的用户才能访问
     public ResponseEntity<String> adminOnlyEndpoint() {
         return ResponseEntity.ok("Hello Admin! You have successfully accessed a protected resource.");
     }
-}
\ No newline at end of file
+
+    /**
+     * 查看进程内缓存的命中/未命中/淘汰次数，用来估算省掉了多少次数据库往返。
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheStatsDto>> cacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>(workshopCache.stats());
+        stats.add(jwtDecoder.stats());
+        stats.add(jwtConverter.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * 立即按 review 表重算所有评分汇总（平时由定时任务每天跑一次），返回修复的行数。
+     */
+    @PostMapping("/ratings/repair")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> repairRatings() {
+        return ResponseEntity.ok(Map.of("repaired", ratingRepairJob.repairAll()));
+    }
+
+    /**
+     * 分页查询审计日志，新的在前，可按操作者、操作类型和操作对象筛选。
+     * 带上 from/to 时只会扫描对应月份的分区。第一页不传 cursor，之后把 nextCursor 原样传回。
+     */
+    @GetMapping("/audit")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditPageDto> searchAudit(
+            @RequestParam(required = false) UUID actorId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String targetEntity,
+            @RequestParam(required = false) String targetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AuditQuery.DEFAULT_LIMIT) int limit) {
+        AuditQuery query = new AuditQuery(actorId, action, targetEntity, targetId, from, to,
+                AuditCursor.decode(cursor), limit);
+        return ResponseEntity.ok(auditLogService.search(query));
+    }
+
+    /**
+     * 审计日志写入队列的积压、丢弃数量和每批写入耗时。
+     */
+    @GetMapping("/audit/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditStatsDto> auditStats() {
+        return ResponseEntity.ok(auditLogger.stats());
+    }
+}
@@ -0,0 +1,18 @@
+package club.skillswap.skillswapbackend.common.audit;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 一条待写入 audit_log 的记录。actorId 可以为 null（系统操作）；
+ * details 在后台线程里才序列化成 JSON，调用方不要再修改传进来的 Map。
+ */
+public record AuditEvent(
+    UUID actorId,
+    String action,
+    String targetEntity,
+    String targetId,
+    Map<String, Object> details,
+    Instant createdAt
+) {}
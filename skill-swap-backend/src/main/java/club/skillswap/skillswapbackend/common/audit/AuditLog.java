@@ -11,6 +11,10 @@ import club.skillswap.skillswapbackend.user.entity.UserAccount;
 
 import java.time.Instant;
 
+/**
+ * 审计日志。写入和查询都走 AuditLogRepository 的 JDBC，这个实体只用于映射表结构。
+ * 生产库里 audit_log 是按 created_at 月份分区的表，主键是 (created_at, id)，迁移见 doc/Database.md。
+ */
 @Entity
 @Table(name = "audit_log")
 @Getter
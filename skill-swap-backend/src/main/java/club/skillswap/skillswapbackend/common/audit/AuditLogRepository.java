@@ -0,0 +1,203 @@
+package club.skillswap.skillswapbackend.common.audit;
+
+import club.skillswap.skillswapbackend.common.dto.AuditCursor;
+import club.skillswap.skillswapbackend.common.dto.AuditLogDto;
+import club.skillswap.skillswapbackend.common.dto.AuditQuery;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * audit_log 的 JDBC 访问，不经过 Hibernate 实体：批量写入、管理后台查询，以及按月分区的维护。
+ * 写入用 JDBC batch 发出，配合连接串里的 reWriteBatchedInserts 合并成一条多行 insert。
+ * actor_id 有外键，操作者不在 user_account 里时记为 null，不让一条记录拖垮整批。
+ */
+@Repository
+public class AuditLogRepository {
+
+    // 分区命名：audit_log_y2026m10 存 2026-10 这个月（UTC）
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'audit_log_y'yyyy'm'MM");
+    private static final Pattern PARTITION_PATTERN = Pattern.compile("audit_log_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogRepository(JdbcTemplate jdbc, NamedParameterJdbcTemplate namedJdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.namedJdbc = namedJdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    public void insertAll(List<AuditEvent> events) {
+        jdbc.batchUpdate("""
+                insert into audit_log (actor_id, action, target_entity, target_id, details, created_at)
+                values ((select id from user_account where id = ?), ?, ?, ?, cast(? as jsonb), ?)
+                """, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.actorId(), Types.OTHER);
+            ps.setString(2, event.action());
+            ps.setString(3, event.targetEntity());
+            ps.setString(4, event.targetId());
+            ps.setString(5, toJson(event));
+            ps.setTimestamp(6, Timestamp.from(event.createdAt()));
+        });
+    }
+
+    /**
+     * 按 (created_at, id) 倒序取一页，多取一条用来判断是否还有下一页。
+     * 游标条件里额外带上 created_at <= 游标时间，行比较本身不能用来裁剪分区。
+     */
+    public List<AuditLogDto> find(AuditQuery query) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", query.limit() + 1);
+        List<String> conditions = new ArrayList<>();
+        if (query.actorId() != null) {
+            conditions.add("actor_id = :actorId");
+            params.addValue("actorId", query.actorId());
+        }
+        if (query.action() != null) {
+            conditions.add("action = :action");
+            params.addValue("action", query.action());
+        }
+        if (query.targetEntity() != null) {
+            conditions.add("target_entity = :targetEntity");
+            params.addValue("targetEntity", query.targetEntity());
+        }
+        if (query.targetId() != null) {
+            conditions.add("target_id = :targetId");
+            params.addValue("targetId", query.targetId());
+        }
+        if (query.from() != null) {
+            conditions.add("created_at >= :from");
+            params.addValue("from", Timestamp.from(query.from()));
+        }
+        if (query.to() != null) {
+            conditions.add("created_at < :to");
+            params.addValue("to", Timestamp.from(query.to()));
+        }
+        AuditCursor after = query.after();
+        if (after != null) {
+            conditions.add("created_at <= :afterCreatedAt");
+            conditions.add("(created_at, id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", Timestamp.from(after.createdAt()));
+            params.addValue("afterId", after.id());
+        }
+        String where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions);
+        return namedJdbc.query("""
+                select id, actor_id, action, target_entity, target_id, details::text as details, created_at
+                from audit_log
+                """ + where + """
+
+                order by created_at desc, id desc
+                limit :limit
+                """, params, this::mapRow);
+    }
+
+    /**
+     * audit_log 是否已经迁移成分区表（见 doc/Database.md）。
+     */
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbc.queryForObject(
+                "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('audit_log'))",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * 现有的按月分区，按名字解析出月份；不符合命名规则的分区（手工建的）不在结果里。
+     */
+    public List<YearMonth> findPartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbc.queryForList("""
+                select c.relname from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = to_regclass('audit_log')
+                """, String.class)) {
+            partitionMonth(name).ifPresent(months::add);
+        }
+        return months;
+    }
+
+    public void createPartition(YearMonth month) {
+        jdbc.execute("create table if not exists " + partitionName(month)
+                + " partition of audit_log for values from ('" + monthStart(month)
+                + "') to ('" + monthStart(month.plusMonths(1)) + "')");
+    }
+
+    /**
+     * 整个分区一起删掉，不走 DELETE，也不会留下需要 vacuum 的死元组。
+     */
+    public void dropPartition(YearMonth month) {
+        jdbc.execute("drop table if exists " + partitionName(month));
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month);
+    }
+
+    static Optional<YearMonth> partitionMonth(String name) {
+        Matcher m = PARTITION_PATTERN.matcher(name);
+        if (!m.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+    }
+
+    private static OffsetDateTime monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private AuditLogDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new AuditLogDto(
+                rs.getLong("id"),
+                rs.getObject("actor_id", UUID.class),
+                rs.getString("action"),
+                rs.getString("target_entity"),
+                rs.getString("target_id"),
+                fromJson(rs.getString("details")),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant());
+    }
+
+    private String toJson(AuditEvent event) {
+        if (event.details() == null || event.details().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.details());
+        } catch (JsonProcessingException e) {
+            // details 只是附加信息，序列化失败不应该让整批丢掉
+            return null;
+        }
+    }
+
+    private JsonNode fromJson(String details) {
+        if (details == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(details);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
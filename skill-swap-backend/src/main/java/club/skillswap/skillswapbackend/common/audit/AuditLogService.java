@@ -0,0 +1,33 @@
+package club.skillswap.skillswapbackend.common.audit;
+
+import club.skillswap.skillswapbackend.common.dto.AuditCursor;
+import club.skillswap.skillswapbackend.common.dto.AuditLogDto;
+import club.skillswap.skillswapbackend.common.dto.AuditPageDto;
+import club.skillswap.skillswapbackend.common.dto.AuditQuery;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class AuditLogService {
+
+    private final AuditLogRepository auditLogRepository;
+
+    public AuditLogService(AuditLogRepository auditLogRepository) {
+        this.auditLogRepository = auditLogRepository;
+    }
+
+    /**
+     * 按条件分页查询审计日志，新的在前。
+     */
+    public AuditPageDto search(AuditQuery query) {
+        List<AuditLogDto> rows = auditLogRepository.find(query);
+        if (rows.size() <= query.limit()) {
+            return new AuditPageDto(rows, null);
+        }
+        List<AuditLogDto> page = rows.subList(0, query.limit());
+        AuditLogDto last = page.get(page.size() - 1);
+        return new AuditPageDto(List.copyOf(page), new AuditCursor(last.createdAt(), last.id()).encode());
+    }
+}
@@ -0,0 +1,247 @@
+package club.skillswap.skillswapbackend.common.audit;
+
+import club.skillswap.skillswapbackend.common.dto.AuditStatsDto;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 审计日志的异步写入。业务代码调用 record() 只是把记录放进内存队列，
+ * 由一个后台线程攒够 batch-size 条或等满 flush-interval 后一次写入，请求线程不占用数据库连接。
+ *
+ * 队列是无锁的 ConcurrentLinkedQueue，容量靠一个原子计数限制。队列满时按 backpressure 处理：
+ * block 等待一小段时间，drop 直接丢弃，sample 在队列过半后只保留 sample-rate 比例的记录。
+ * 进程崩溃时队列里还没写入的记录会丢失，审计日志不要求强一致。
+ * 队列长度、丢弃数量和每批写入耗时既注册成 audit.* 指标，也可以在管理接口里直接查看。
+ */
+@Component
+public class AuditLogger implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogger.class);
+
+    public enum Backpressure { BLOCK, DROP, SAMPLE }
+
+    private final AuditLogRepository auditLogRepository;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Backpressure backpressure;
+    private final long blockTimeoutNanos;
+    private final double sampleRate;
+
+    private final ConcurrentLinkedQueue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    // 已占用的名额，先占名额再入队，所以可能短暂大于队列里实际的元素数
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    // 以下只由写入线程修改
+    private volatile long written;
+    private volatile long failed;
+    private volatile long flushes;
+    private volatile long flushNanosTotal;
+    private volatile long flushNanosMax;
+
+    private volatile Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditLogger(AuditLogRepository auditLogRepository,
+                       @Value("${app.audit.queue-capacity:10000}") int capacity,
+                       @Value("${app.audit.batch-size:200}") int batchSize,
+                       @Value("${app.audit.flush-interval-ms:1000}") long flushIntervalMs,
+                       @Value("${app.audit.backpressure:drop}") String backpressure,
+                       @Value("${app.audit.block-timeout-ms:50}") long blockTimeoutMs,
+                       @Value("${app.audit.sample-rate:0.1}") double sampleRate) {
+        this.auditLogRepository = auditLogRepository;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, this.capacity));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.backpressure = Backpressure.valueOf(backpressure.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, blockTimeoutMs));
+        this.sampleRate = sampleRate;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 关闭时把队列里剩下的记录写完再退出。
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * 记录一次操作。在事务里调用时，等事务提交后才入队，回滚的操作不会留下审计记录。
+     */
+    public void record(UUID actorId, String action, String targetEntity, String targetId,
+                       Map<String, Object> details) {
+        AuditEvent event = new AuditEvent(actorId, action, targetEntity, targetId, details, Instant.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    /**
+     * 放入队列，被背压策略丢弃时返回 false。
+     */
+    boolean enqueue(AuditEvent event) {
+        if (backpressure == Backpressure.SAMPLE && size.get() >= capacity / 2
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return false;
+        }
+        int depth = reserve();
+        if (depth < 0 && backpressure == Backpressure.BLOCK) {
+            depth = awaitSlot();
+        }
+        if (depth < 0) {
+            dropped.increment();
+            return false;
+        }
+        queue.offer(event);
+        enqueued.increment();
+        if (depth == batchSize) {
+            // 攒够一批，叫醒写入线程，不用等到 flush-interval
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.queue.depth", size, AtomicInteger::get)
+                .description("Audit events waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("audit.events.written", this, logger -> logger.written).register(registry);
+        FunctionCounter.builder("audit.events.dropped", dropped, LongAdder::sum)
+                .tag("reason", "queue_full").register(registry);
+        FunctionCounter.builder("audit.events.dropped", sampledOut, LongAdder::sum)
+                .tag("reason", "sampled").register(registry);
+        FunctionCounter.builder("audit.events.dropped", this, logger -> logger.failed)
+                .tag("reason", "write_failed").register(registry);
+        flushTimer = Timer.builder("audit.flush")
+                .description("Time to write one batch of audit events")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public AuditStatsDto stats() {
+        long count = flushes;
+        return new AuditStatsDto(backpressure.name().toLowerCase(Locale.ROOT), size.get(), capacity,
+                enqueued.sum(), written, dropped.sum(), sampledOut.sum(), failed, count,
+                count == 0 ? 0 : flushNanosTotal / 1e6 / count, flushNanosMax / 1e6);
+    }
+
+    // 占一个名额，返回占用后的队列长度；队列已满返回 -1
+    private int reserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= capacity) {
+                return -1;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private int awaitSlot() {
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        int depth;
+        while ((depth = reserve()) < 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        return depth;
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0;
+        while (running || size.get() > 0) {
+            AuditEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                size.decrementAndGet();
+                if (batch.isEmpty()) {
+                    batchStartedAt = System.nanoTime();
+                }
+                batch.add(event);
+            }
+            long waited = System.nanoTime() - batchStartedAt;
+            if (!batch.isEmpty() && (batch.size() >= batchSize || waited >= flushIntervalNanos || !running)) {
+                flush(batch);
+                batch.clear();
+                continue;
+            }
+            if (running) {
+                LockSupport.parkNanos(this, batch.isEmpty() ? flushIntervalNanos : flushIntervalNanos - waited);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            auditLogRepository.insertAll(batch);
+            written += batch.size();
+        } catch (RuntimeException e) {
+            // 写失败的这一批直接放弃，不重试，避免数据库故障时越积越多
+            failed += batch.size();
+            log.warn("Failed to write {} audit log entries", batch.size(), e);
+        }
+        long took = System.nanoTime() - start;
+        flushes++;
+        flushNanosTotal += took;
+        flushNanosMax = Math.max(flushNanosMax, took);
+        Timer timer = flushTimer;
+        if (timer != null) {
+            timer.record(took, TimeUnit.NANOSECONDS);
+        }
+    }
+}
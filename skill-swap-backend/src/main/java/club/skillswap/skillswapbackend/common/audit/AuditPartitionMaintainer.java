@@ -0,0 +1,67 @@
+package club.skillswap.skillswapbackend.common.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * audit_log 按 created_at 月份分区（UTC）。启动时和每天定时预建未来几个月的分区，
+ * 并把超过保留期的整月分区直接删掉。表还没迁移成分区表时什么也不做。
+ */
+@Component
+public class AuditPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintainer.class);
+
+    private final AuditLogRepository auditLogRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Clock clock = Clock.system(ZoneOffset.UTC);
+
+    public AuditPartitionMaintainer(AuditLogRepository auditLogRepository,
+                                    @Value("${app.audit.partitions-ahead:3}") int monthsAhead,
+                                    @Value("${app.audit.retention-months:12}") int retentionMonths) {
+        this.auditLogRepository = auditLogRepository;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        // 至少保留当月和上个月
+        this.retentionMonths = Math.max(2, retentionMonths);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.audit.partition-cron:0 15 3 * * *}", zone = "UTC")
+    public void maintain() {
+        if (!auditLogRepository.isPartitioned()) {
+            log.warn("audit_log is not partitioned, skipping partition maintenance (see doc/Database.md)");
+            return;
+        }
+        YearMonth current = YearMonth.now(clock);
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1);
+        int created = 0;
+        int dropped = 0;
+        var existing = auditLogRepository.findPartitions();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                auditLogRepository.createPartition(month);
+                created++;
+            }
+        }
+        for (YearMonth month : existing) {
+            if (month.isBefore(oldestKept)) {
+                auditLogRepository.dropPartition(month);
+                dropped++;
+            }
+        }
+        if (created > 0 || dropped > 0) {
+            log.info("audit_log partitions: created {}, dropped {} (keeping since {})", created, dropped, oldestKept);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package club.skillswap.skillswapbackend.common.config;
+
+import club.skillswap.skillswapbackend.common.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在真正的 JwtDecoder 前面加一层缓存：同一个 token 验签通过后，之后的请求直接复用已验证的 Jwt。
+ * 缓存键是 token 的 SHA-256 摘要，不在内存里保存 token 原文。
+ *
+ * 条目最长保留 min(exp - now, ttl)；读取时再按 exp 严格检查一次，过期的 token 永远不会从缓存返回。
+ * 验签或校验失败的 token 不缓存。
+ * 每次 decode 的耗时记在 security.jwt.decode 里，按 result=cached/verified/rejected 区分。
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+    private final Clock clock;
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.clock = Clock.systemUTC();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+                        return remainingNanos(jwt, ttl);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return remainingNanos(jwt, ttl);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.jwt");
+        this.cachedTimer = decodeTimer(meterRegistry, "cached");
+        this.verifiedTimer = decodeTimer(meterRegistry, "verified");
+        this.rejectedTimer = decodeTimer(meterRegistry, "rejected");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        String key = digest(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return cached;
+            }
+            cache.invalidate(key);
+        }
+        // 交给原来的 decoder 验签和校验，失败直接抛出，不进缓存
+        Jwt jwt;
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        if (!isExpired(jwt)) {
+            cache.put(key, jwt);
+        }
+        verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return jwt;
+    }
+
+    public CacheStatsDto stats() {
+        return CacheStatsDto.of("security.jwt", cache);
+    }
+
+    // 没有 exp 的 token 不缓存
+    private boolean isExpired(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt == null || !clock.instant().isBefore(expiresAt);
+    }
+
+    private long remainingNanos(Jwt jwt, Duration ttl) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return 0;
+        }
+        Duration remaining = Duration.between(clock.instant(), expiresAt);
+        if (remaining.isNegative()) {
+            return 0;
+        }
+        return Math.min(remaining.toNanos(), ttl.toNanos());
+    }
+
+    private static Timer decodeTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.jwt.decode")
+                .description("JWT decode time, including the cache lookup")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package club.skillswap.skillswapbackend.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 系统时钟。按时间做决定的组件注入它，测试里可以换成固定的时钟。
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,103 @@
+package club.skillswap.skillswapbackend.common.config;
+
+import club.skillswap.skillswapbackend.common.jdbc.PermitLimitingDataSource;
+import club.skillswap.skillswapbackend.common.jdbc.ReadWriteRoutingDataSource;
+import club.skillswap.skillswapbackend.common.jdbc.StatementCountingDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * 用 LazyConnectionDataSourceProxy 包住 Spring Boot 创建的 Hikari 连接池：
+     * 开启事务时先拿到一个“逻辑连接”，直到真正执行第一条 SQL 才去连接池借物理连接。
+     * 连接池只有 2 个连接，这样缓存命中的只读请求就完全不会占用连接。
+     * 中间再套几层：StatementCountingDataSource 统计每个请求执行的 SQL 条数，
+     * PermitLimitingDataSource 让借主库连接的线程按先来后到排队（许可数和等待时间见 app.db.*），
+     * 配置了副本时 ReadWriteRoutingDataSource 把只读事务分到副本池（见 app.datasource.replica.*）。
+     * BeanPostProcessor 要尽早创建，不能注入 @Value，配置直接从 Environment 读。
+     */
+    @Bean
+    static BeanPostProcessor lazyConnectionDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    int permits = environment.getProperty("app.db.permits", Integer.class,
+                            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                    long timeoutMs = environment.getProperty("app.db.permit-timeout-ms", Long.class,
+                            environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+                    DataSource target = new PermitLimitingDataSource(dataSource, permits, timeoutMs);
+                    List<HikariDataSource> replicas = replicaPools(environment);
+                    if (!replicas.isEmpty()) {
+                        target = new ReadWriteRoutingDataSource(target, replicas,
+                                environment.getProperty("app.datasource.replica.max-lag-ms", Long.class, 1000L),
+                                environment.getProperty("app.datasource.replica.sticky", Duration.class,
+                                        Duration.ofSeconds(5)),
+                                // 连续错过三次检查的副本不再分配读
+                                Duration.ofMillis(3 * environment.getProperty(
+                                        "app.datasource.replica.lag-check-interval-ms", Long.class, 1000L)));
+                    }
+                    return new LazyConnectionDataSourceProxy(new StatementCountingDataSource(target));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder dbPermitMetrics(DataSource dataSource) throws SQLException {
+        PermitLimitingDataSource limiter = dataSource.unwrap(PermitLimitingDataSource.class);
+        return limiter::bindTo;
+    }
+
+    @Bean
+    MeterBinder dbRoutingMetrics(DataSource dataSource) throws SQLException {
+        if (!dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+            return registry -> { };
+        }
+        return dataSource.unwrap(ReadWriteRoutingDataSource.class)::bindTo;
+    }
+
+    /**
+     * 每个副本一个 Hikari 连接池，连接池参数绑定自 app.datasource.replica.hikari.*。
+     * 副本连不上不影响启动，连接池在后台重试，期间读请求走主库。
+     */
+    private static List<HikariDataSource> replicaPools(Environment environment) {
+        String urls = environment.getProperty("app.datasource.replica.urls", "");
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            Binder.get(environment).bind("app.datasource.replica.hikari", Bindable.ofInstance(config));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(environment.getProperty("app.datasource.replica.username",
+                    environment.getProperty("spring.datasource.username")));
+            config.setPassword(environment.getProperty("app.datasource.replica.password",
+                    environment.getProperty("spring.datasource.password")));
+            config.setPoolName("replica-" + pools.size());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            pools.add(new HikariDataSource(config));
+        }
+        return pools;
+    }
+}
@@ -1,5 +1,9 @@
 package club.skillswap.skillswapbackend.common.config;
 
+import club.skillswap.skillswapbackend.common.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -8,39 +12,51 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
+    // CachingJwtDecoder 对同一个 token 返回同一个 Jwt 实例，这里按实例（弱引用）缓存解析好的权限，
+    // Jwt 从解码缓存里淘汰后这里的条目也会随之回收
+    private final Cache<Jwt, List<GrantedAuthority>> authoritiesCache = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+
     @Override
     public AbstractAuthenticationToken convert(Jwt jwt) {
         // 从 JWT 中提取角色信息
-        Collection<GrantedAuthority> authorities = extractAuthorities(jwt);
+        Collection<GrantedAuthority> authorities = authoritiesCache.get(jwt, this::extractAuthorities);
         
         // 创建一个 JwtAuthenticationToken，这是 Spring Security 内部表示认证用户的方式
+        // token 每次新建：认证过程中会往上写 details，不能在请求之间共享
         return new JwtAuthenticationToken(jwt, authorities, jwt.getSubject());
     }
 
-    private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
+    public CacheStatsDto stats() {
+        return CacheStatsDto.of("security.authorities", authoritiesCache);
+    }
+
+    private List<GrantedAuthority> extractAuthorities(Jwt jwt) {
         // Supabase 将角色信息放在 "app_metadata" claim 中
         Map<String, Object> appMetadata = jwt.getClaimAsMap("app_metadata");
         
-        if (appMetadata != null && appMetadata.get("roles") instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) appMetadata.get("roles");
-            
+        if (appMetadata != null && appMetadata.get("roles") instanceof List<?> roles) {
             // 将角色字符串（如 "ADMIN"）转换为 Spring Security 的 GrantedAuthority 对象
             // 关键：Spring Security 的 "hasRole" 方法需要权限以 "ROLE_" 开头
-            return roles.stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                    .collect(Collectors.toList());
+            List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+            }
+            return List.copyOf(authorities);
         }
         
         // 如果没有角色信息，返回一个空列表
         return List.of();
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,32 @@
 package club.skillswap.skillswapbackend.common.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 @Configuration
 public class JwtDecoderConfig {
 
     @Bean
-    JwtDecoder jwtDecoder(@Value("${JWT_HS256_SECRET}") String secret) {
+    CachingJwtDecoder jwtDecoder(
+            @Value("${JWT_HS256_SECRET}") String secret,
+            @Value("${app.security.jwt-cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.security.jwt-cache.ttl:5m}") Duration cacheTtl,
+            MeterRegistry meterRegistry) {
         // 关键：Supabase Legacy JWT secret 直接按原文字符串使用，不要 Base64 解码
         SecretKey key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        return NimbusJwtDecoder.withSecretKey(key)
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key)
                 .macAlgorithm(MacAlgorithm.HS256)
                 .build();
+        // 同一个 token 在会话里会反复出现，验签结果按 token 缓存到它过期为止
+        return new CachingJwtDecoder(decoder, cacheMaxSize, cacheTtl, meterRegistry);
     }
 }
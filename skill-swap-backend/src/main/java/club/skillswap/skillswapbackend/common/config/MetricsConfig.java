@@ -0,0 +1,19 @@
+package club.skillswap.skillswapbackend.common.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 让 @Timed 生效：标了 @Timed 的 Service 的每个方法记一个计时器，按 class/method 打标签。
+     * HTTP 接口、Hikari 连接池和 Hibernate 的指标由 Spring Boot Actuator 自动注册。
+     */
+    @Bean
+    TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
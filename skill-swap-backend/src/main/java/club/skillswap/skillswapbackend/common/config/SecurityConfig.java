@@ -1,6 +1,7 @@
 package club.skillswap.skillswapbackend.common.config;
 
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -37,9 +38,16 @@ public class SecurityConfig {
             // 配置 API 端点的授权规则
             .authorizeHttpRequests(auth -> auth
                 // 允许任何人 GET 公开的用户信息
-                .requestMatchers(HttpMethod.GET, "/api/v1/users/{id}").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/users/{id}", "/api/v1/users/{id}/rating",
+                        "/api/v1/users/leaderboard").permitAll()
+                // Workshop 全量导出只给管理员和合作方，必须写在下面的 permitAll 之前
+                .requestMatchers(HttpMethod.GET, "/api/v1/workshops/export").hasAnyRole("ADMIN", "PARTNER")
                 // **规则2 (新增的): 允许任何人 GET 公开的 Workshop 信息**
                 .requestMatchers(HttpMethod.GET, "/api/v1/workshops", "/api/v1/workshops/**").permitAll()
+                // 技能补全是公开的
+                .requestMatchers(HttpMethod.GET, "/api/v1/skills/autocomplete").permitAll()
+                // 监控端点只在独立的管理端口上提供（management.server.port），不对公网开放
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 // 其他所有请求都需要有效的 JWT 认证
                 .anyRequest().authenticated()
             );
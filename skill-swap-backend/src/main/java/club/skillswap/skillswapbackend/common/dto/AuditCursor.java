@@ -0,0 +1,42 @@
+package club.skillswap.skillswapbackend.common.dto;
+
+import club.skillswap.skillswapbackend.common.exception.DomainException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 审计日志查询的分页游标，对应排序键 (created_at, id) 倒序。
+ * 对外只暴露 encode() 之后的不透明字符串，客户端原样传回即可。
+ */
+public record AuditCursor(Instant createdAt, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析客户端传回的游标；为空时返回 null（表示第一页）。
+     */
+    public static AuditCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new DomainException("Invalid cursor.");
+            }
+            return new AuditCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DomainException("Invalid cursor.", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package club.skillswap.skillswapbackend.common.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AuditLogDto(
+    long id,
+    UUID actorId,
+    String action,
+    String targetEntity,
+    String targetId,
+    JsonNode details,
+    Instant createdAt
+) {}
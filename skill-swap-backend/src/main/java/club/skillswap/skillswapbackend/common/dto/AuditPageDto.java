@@ -0,0 +1,11 @@
+package club.skillswap.skillswapbackend.common.dto;
+
+import java.util.List;
+
+/**
+ * 一页审计日志，新的在前。nextCursor 为 null 表示已经是最后一页。
+ */
+public record AuditPageDto(
+    List<AuditLogDto> items,
+    String nextCursor
+) {}
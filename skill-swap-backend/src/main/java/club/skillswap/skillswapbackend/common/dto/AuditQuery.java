@@ -0,0 +1,45 @@
+package club.skillswap.skillswapbackend.common.dto;
+
+import club.skillswap.skillswapbackend.common.exception.DomainException;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 审计日志查询条件：筛选字段 + 时间范围 + 游标 + 每页条数。
+ * 所有筛选字段都是可选的，null 表示不过滤。from/to 是 [from, to) 区间。
+ */
+public record AuditQuery(
+    UUID actorId,
+    String action,
+    String targetEntity,
+    String targetId,
+    Instant from,
+    Instant to,
+    AuditCursor after,
+    int limit
+) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public AuditQuery {
+        action = blankToNull(action);
+        targetEntity = blankToNull(targetEntity);
+        targetId = blankToNull(targetId);
+        // target_id 只在 (target_entity, target_id) 索引里，单独按 target_id 查会扫全部分区
+        if (targetId != null && targetEntity == null) {
+            throw new DomainException("targetEntity is required when filtering by targetId.");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new DomainException("'from' must be before 'to'.");
+        }
+        if (limit <= 0) {
+            limit = DEFAULT_LIMIT;
+        }
+        limit = Math.min(limit, MAX_LIMIT);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,18 @@
+package club.skillswap.skillswapbackend.common.dto;
+
+/**
+ * 审计日志写入队列的运行指标。flush 耗时是写一批 audit_log 的数据库往返时间。
+ */
+public record AuditStatsDto(
+    String backpressure,
+    int queueDepth,
+    int capacity,
+    long enqueued,
+    long written,
+    long dropped,
+    long sampledOut,
+    long failed,
+    long flushes,
+    double avgFlushMs,
+    double maxFlushMs
+) {}
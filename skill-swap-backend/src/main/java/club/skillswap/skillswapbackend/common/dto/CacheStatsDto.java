@@ -0,0 +1,19 @@
+package club.skillswap.skillswapbackend.common.dto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record CacheStatsDto(
+    String name,
+    long size,
+    long hitCount,
+    long missCount,
+    double hitRate,
+    long evictionCount
+) {
+    public static CacheStatsDto of(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDto(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -1,6 +1,7 @@
 package club.skillswap.skillswapbackend.common.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -10,6 +11,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.server.ResponseStatusException;
 
 import club.skillswap.skillswapbackend.common.dto.ErrorResponseDto;
@@ -129,13 +131,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    /**
+     * 客户端在流式响应（比如 Workshop 导出）写到一半时断开。响应已经发出去一部分、连接也没了，
+     * 不再写错误体，交给容器结束请求即可。
+     */
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientAbort() {
+    }
 
     /**
      * 这是一个“安全网”，处理所有其他未被捕获的异常
      * 这可以防止敏感的堆栈信息泄露给客户端。
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception ex, HttpServletRequest request) {
+    public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception ex, HttpServletRequest request,
+                                                                  HttpServletResponse response) throws Exception {
+        // 流式响应写到一半才出错：状态码和部分内容已经发出，再写错误 JSON 只会混进正文。
+        // 原样抛回给容器，由它中断连接，客户端才知道响应不完整
+        if (response.isCommitted()) {
+            throw ex;
+        }
         // 在实际项目中，你应该在这里记录详细的错误日志
         // log.error("An unexpected error occurred", ex);
 
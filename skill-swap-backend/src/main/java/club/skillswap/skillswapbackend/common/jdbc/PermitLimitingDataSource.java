@@ -0,0 +1,154 @@
+package club.skillswap.skillswapbackend.common.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 借连接前先拿一个许可（公平信号量），连接关闭时归还。许可数默认等于连接池大小。
+ *
+ * 虚拟线程模式下请求线程不再受 Tomcat 线程池大小限制，成百上千个请求可能同时来借 2 个连接；
+ * 在这里按先来后到排队并限定等待时间，等待耗时按接口（method + 路由模板）记到 db.permit.wait，
+ * 能直接看出是哪个接口在等连接。后台任务（定时任务、审计写入）记为 uri=none。
+ */
+public class PermitLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private static final String NONE = "none";
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutNanos;
+
+    private volatile MeterRegistry registry;
+
+    public PermitLimitingDataSource(DataSource targetDataSource, int permits, long timeoutMs) {
+        super(targetDataSource);
+        this.maxPermits = Math.max(1, permits);
+        this.permits = new Semaphore(maxPermits, true);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMs));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.permits.available", permits, Semaphore::availablePermits)
+                .description("Database permits not currently held")
+                .register(registry);
+        Gauge.builder("db.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database permit")
+                .register(registry);
+        Gauge.builder("db.permits.max", this, dataSource -> dataSource.maxPermits).register(registry);
+        this.registry = registry;
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database permit", e);
+        }
+        record(System.nanoTime() - start, acquired);
+        if (!acquired) {
+            throw new SQLTransientConnectionException("Timed out after "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms waiting for a database permit");
+        }
+    }
+
+    private void record(long waitedNanos, boolean acquired) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return;
+        }
+        String method = NONE;
+        String uri = NONE;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            method = request.getMethod();
+            uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        }
+        Timer.builder("db.permit.wait")
+                .description("Time spent waiting for a database permit")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("outcome", acquired ? "acquired" : "timeout")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(waitedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 连接关闭时归还许可，重复 close 只归还一次
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "close" -> {
+                            try {
+                                connection.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,228 @@
+package club.skillswap.skillswapbackend.common.jdbc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 只读事务（@Transactional(readOnly = true)）的连接从副本池里借，其余一律走主库。
+ * 套在 LazyConnectionDataSourceProxy 里面用：真正借连接时事务已经开始，能读到当前事务是否只读。
+ *
+ * 两条保护：
+ * <ul>
+ *   <li>延迟保护：ReplicaLagMonitor 定期查每个副本的复制延迟，超过 max-lag 或查不通的副本不参与分配，
+ *       没有可用副本时读也走主库；启动后第一次检查之前副本视为不可用，最近一次检查超过 stale-after
+ *       还没有更新（检查卡住或停了）的副本同样视为不可用</li>
+ *   <li>读己之写：用户的写事务提交后 sticky 这段时间内，他的只读事务仍然走主库，不会读到副本上的旧数据</li>
+ * </ul>
+ * 用户按 Spring Security 当前认证的 name（JWT 的 sub）区分；后台任务没有用户，不做粘滞。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    // 不是备库时延迟记 0；和主库断开（WAL 接收进程不在 streaming 状态）时记 -1，按不可用处理；
+    // 还连着主库并且收到的 WAL 已经全部回放时记 0（主库长时间没写入，回放时间戳会很旧）。
+    // 查 pg_stat_wal_receiver.status 需要 pg_read_all_stats 权限，否则读到 null，副本同样按不可用处理
+    private static final String LAG_SQL = """
+            select case when not pg_is_in_recovery() then 0
+                        when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then -1
+                        when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end
+            """;
+
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final long staleAfterNanos;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile MeterRegistry registry;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, long maxLagMs,
+                                      Duration sticky, Duration staleAfter) {
+        this.maxLagMs = maxLagMs;
+        this.staleAfterNanos = staleAfter.toNanos();
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(sticky).build();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        List<Replica> list = new ArrayList<>();
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            list.add(replica);
+            targets.put(replica.name, pool);
+        }
+        this.replicas = List.copyOf(list);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // 不在事务里的访问（自动提交）也走主库，但不当作写：这类访问基本是普通的读
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                rememberWriter();
+            }
+            return route(PRIMARY, "write");
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return route(PRIMARY, "sticky");
+        }
+        Replica replica = nextHealthy();
+        if (replica == null) {
+            return route(PRIMARY, "no_replica");
+        }
+        return route(replica.name, "read");
+    }
+
+    /**
+     * 查一遍每个副本的复制延迟，更新可用状态。由 ReplicaLagMonitor 定期调用。
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lag;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                lag = Math.round(rs.getDouble(1));
+            } catch (SQLException e) {
+                lag = -1;
+            }
+            boolean healthy = lag >= 0 && lag <= maxLagMs;
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation (lag {} ms)", replica.name, lag);
+                } else {
+                    log.warn("Replica {} taken out of rotation ({})", replica.name,
+                            lag < 0 ? "unreachable or not streaming" : "lag " + lag + " ms > " + maxLagMs + " ms");
+                }
+            }
+            replica.lagMs = lag;
+            replica.healthy = healthy;
+            replica.checkedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * 关闭副本连接池；主库连接池由 Spring Boot 管理。
+     */
+    public void closeReplicas() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMs)
+                    .description("Replication lag in milliseconds, -1 when unreachable or not streaming")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("db.replica.healthy", replica, r -> isAvailable(r, System.nanoTime()) ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        this.registry = registry;
+    }
+
+    private Object route(String target, String reason) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            Counter.builder("db.route")
+                    .description("Connections handed out, by target pool and routing reason")
+                    .tag("target", PRIMARY.equals(target) ? PRIMARY : "replica")
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return target;
+    }
+
+    // 写事务提交后记下这个用户
+    private void rememberWriter() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private Replica nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        long now = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (isAvailable(replica, now)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // healthy 只代表最近一次检查的结果；检查太久没跑（线程卡在某个副本上、被停掉），这个结果就不再可信
+    private boolean isAvailable(Replica replica, long now) {
+        return replica.healthy && now - replica.checkedAt <= staleAfterNanos;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica {
+        final String name;
+        final HikariDataSource pool;
+        // 第一次检查前不可用
+        volatile boolean healthy;
+        volatile long lagMs = -1;
+        // 最近一次检查完成的 System.nanoTime()
+        volatile long checkedAt;
+
+        Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package club.skillswap.skillswapbackend.common.jdbc;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * 定期检查副本的复制延迟，决定哪些副本可以分配只读连接。没有配置副本（app.datasource.replica.urls 为空）时什么都不做。
+ *
+ * 检查跑在自己的线程上，不用 @Scheduled：Spring Boot 默认只有一个调度线程，评分修复、排行榜和索引重建这些
+ * 长任务占着它的时候，延迟检查会一直排不上，副本的状态停留在很久以前。
+ */
+@Component
+public class ReplicaLagMonitor {
+
+    private final ReadWriteRoutingDataSource routing;
+    private final ThreadPoolTaskScheduler scheduler;
+
+    public ReplicaLagMonitor(DataSource dataSource,
+                             @Value("${app.datasource.replica.lag-check-interval-ms:1000}") long intervalMs)
+            throws SQLException {
+        this.routing = dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)
+                ? dataSource.unwrap(ReadWriteRoutingDataSource.class)
+                : null;
+        if (routing == null) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("replica-lag-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(routing::checkReplicas, Duration.ofMillis(intervalMs));
+    }
+
+    @PreDestroy
+    void close() {
+        if (routing != null) {
+            scheduler.shutdown();
+            routing.closeReplicas();
+        }
+    }
+}
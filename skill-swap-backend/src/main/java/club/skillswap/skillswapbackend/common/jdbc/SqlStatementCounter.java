@@ -0,0 +1,40 @@
+package club.skillswap.skillswapbackend.common.jdbc;
+
+/**
+ * 统计当前线程执行了多少条 SQL。只在 begin() 和 end() 之间计数（一个 HTTP 请求，或者测试里的一段代码），
+ * 后台线程默认不计数，不产生任何开销。一次 executeBatch 算一条，因为它只有一次数据库往返。
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {}
+
+    public static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * 结束计数并返回总数；没有 begin() 过时返回 0。
+     */
+    public static int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * 到目前为止的条数，不结束计数。
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package club.skillswap.skillswapbackend.common.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 给连接和语句套一层动态代理，每次 execute* 调用记一条到 SqlStatementCounter。
+ * Hibernate 和 JdbcTemplate 都从这里拿连接，所以两边的 SQL 都能数到。
+ * 继承 DelegatingDataSource，Actuator 仍然能解包拿到底下的 Hikari 连接池。
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    // 连接池和事务同步按对象身份比较连接，不能转给被代理的连接
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return wrap(statement, method.getReturnType(), (Connection) proxy);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement wrap(Statement statement, Class<?> type, Connection connection) {
+        Class<?> iface = type == CallableStatement.class ? CallableStatement.class
+                : type == PreparedStatement.class ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = (proxy, method, args) -> {
+            // JdbcTemplate.queryForStream 用 getConnection() 拿到的连接去归还，必须是代理本身，
+            // 否则事务里的连接对不上会被直接关掉
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+            if (method.getName().startsWith("execute")) {
+                SqlStatementCounter.increment();
+            }
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {iface}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package club.skillswap.skillswapbackend.common.web;
+
+import club.skillswap.skillswapbackend.common.dto.ErrorResponseDto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 按观测到的延迟自适应调整并发上限（见 AimdLimit），超出上限的请求立即返回 503 和 Retry-After，
+ * 不再在连接池前排队 30 秒后才失败。
+ *
+ * 两组请求各有一个上限：公开的 Workshop 查询（GET /api/v1/workshops/**）和写请求（/api/v1 下的非 GET 请求），
+ * 写请求慢了不会把查询的上限也拉低。其他请求不受限。
+ * 排在 Spring Security 之前，被拒绝的请求不用验签。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String WORKSHOPS = "/api/v1/workshops";
+    // 导出是长请求，有自己的并发上限（app.export.max-concurrent），不计入查询的延迟样本
+    private static final String EXPORT = "/api/v1/workshops/export";
+    private static final String API = "/api/v1/";
+
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final AimdLimit publicReads;
+    private final AimdLimit writes;
+    private final Map<AimdLimit, Counter> rejected;
+
+    public AdaptiveConcurrencyFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.limiter.enabled:true}") boolean enabled,
+            @Value("${app.limiter.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${app.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.limiter.public-read.initial-limit:20}") int readInitial,
+            @Value("${app.limiter.public-read.min-limit:4}") int readMin,
+            @Value("${app.limiter.public-read.max-limit:200}") int readMax,
+            @Value("${app.limiter.public-read.latency-threshold-ms:500}") long readThresholdMs,
+            @Value("${app.limiter.write.initial-limit:4}") int writeInitial,
+            @Value("${app.limiter.write.min-limit:1}") int writeMin,
+            @Value("${app.limiter.write.max-limit:50}") int writeMax,
+            @Value("${app.limiter.write.latency-threshold-ms:1000}") long writeThresholdMs) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.publicReads = new AimdLimit("public_read", readInitial, readMin, readMax, readThresholdMs, backoffRatio);
+        this.writes = new AimdLimit("write", writeInitial, writeMin, writeMax, writeThresholdMs, backoffRatio);
+        this.rejected = Map.of(publicReads, register(meterRegistry, publicReads),
+                writes, register(meterRegistry, writes));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || limitFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AimdLimit limit = limitFor(request);
+        int inFlightAtStart = limit.tryAcquire();
+        if (inFlightAtStart < 0) {
+            rejected.get(limit).increment();
+            reject(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - start, failed, inFlightAtStart);
+        }
+    }
+
+    private AimdLimit limitFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (read && !path.equals(EXPORT) && (path.equals(WORKSHOPS) || path.startsWith(WORKSHOPS + "/"))) {
+            return publicReads;
+        }
+        if (!read && !"OPTIONS".equals(method) && path.startsWith(API)) {
+            return writes;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto(Instant.now(), status.value(),
+                status.getReasonPhrase(), "Server is busy, please retry later", request.getRequestURI()));
+    }
+
+    private static Counter register(MeterRegistry registry, AimdLimit limit) {
+        Gauge.builder("http.limiter.limit", limit, AimdLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("group", limit.name())
+                .register(registry);
+        Gauge.builder("http.limiter.inflight", limit, AimdLimit::inFlight)
+                .description("Requests currently admitted by the limiter")
+                .tag("group", limit.name())
+                .register(registry);
+        return Counter.builder("http.limiter.rejected")
+                .description("Requests rejected with 503 because the limit was reached")
+                .tag("group", limit.name())
+                .register(registry);
+    }
+}
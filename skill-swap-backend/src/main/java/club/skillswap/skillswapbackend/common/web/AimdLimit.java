@@ -0,0 +1,77 @@
+package club.skillswap.skillswapbackend.common.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一组请求的并发上限，按 AIMD 随延迟调整：
+ * 请求慢于 latency-threshold 或返回 5xx 时上限乘以 backoff-ratio（乘性减），
+ * 否则只要在途请求达到上限的一半，上限加一（加性增）。在途请求很少时不涨，避免空闲时上限虚高。
+ */
+class AimdLimit {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long thresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 只在 synchronized 的 onSample 里修改
+    private volatile double limit;
+
+    AimdLimit(String name, int initialLimit, int minLimit, int maxLimit, long latencyThresholdMs,
+              double backoffRatio) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * 在途请求没到上限时占一个名额，返回占用后的在途数；已到上限返回 -1（请求应当被拒绝）。
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * 请求结束时归还名额，并用这次的耗时调整上限。
+     *
+     * @param inFlightAtStart 请求开始时的在途数（含自己）
+     */
+    void release(long latencyNanos, boolean failed, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        onSample(latencyNanos, failed, inFlightAtStart);
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, boolean failed, int inFlightAtStart) {
+        if (failed || latencyNanos > thresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
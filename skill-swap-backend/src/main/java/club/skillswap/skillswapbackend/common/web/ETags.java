@@ -0,0 +1,37 @@
+package club.skillswap.skillswapbackend.common.web;
+
+/**
+ * 弱 ETag 的生成与 If-None-Match 比较。
+ * 用 Spring 自带的 checkNotModified 会在 304 预检时就写入 ETag 响应头，
+ * 这里只做比较，响应头统一交给 ResponseEntity.eTag(...) 设置。
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String weak(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    /**
+     * 按 RFC 9110 的弱比较规则判断 If-None-Match 是否命中（忽略 W/ 前缀，支持 * 和逗号分隔的多个值）。
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String expected = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaqueTag(trimmed).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
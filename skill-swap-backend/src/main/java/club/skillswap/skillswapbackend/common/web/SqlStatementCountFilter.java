@@ -0,0 +1,112 @@
+package club.skillswap.skillswapbackend.common.web;
+
+import club.skillswap.skillswapbackend.common.jdbc.SqlStatementCounter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * 统计每个 HTTP 请求执行了多少条 SQL，写进 X-SQL-Statements 响应头；超过阈值时打 WARN 日志，
+ * 方便发现改代码时不小心引入的 N+1 查询。各接口的条数预算由 QueryBudgetTest 固定。
+ *
+ * 响应头必须在响应提交前写入，所以在第一次写响应体（或 flush、sendError）时记下当时的条数；
+ * 对普通 JSON 接口来说这时 Service 已经执行完，条数就是整个请求的条数。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statements";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    private final int warnThreshold;
+
+    public SqlStatementCountFilter(@Value("${app.sql.statement-warn-threshold:10}") int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        CountingResponse countingResponse = new CountingResponse(response);
+        int count;
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            count = SqlStatementCounter.end();
+        }
+        countingResponse.stamp(count);
+        if (count > warnThreshold) {
+            log.warn("{} {} executed {} SQL statements (threshold {})",
+                    request.getMethod(), request.getRequestURI(), count, warnThreshold);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} executed {} SQL statements", request.getMethod(), request.getRequestURI(), count);
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private boolean stamped;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void stamp(int count) {
+            if (!stamped && !isCommitted()) {
+                setIntHeader(HEADER, count);
+            }
+            stamped = true;
+        }
+
+        private void stampCurrent() {
+            stamp(SqlStatementCounter.current());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stampCurrent();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stampCurrent();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stampCurrent();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stampCurrent();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stampCurrent();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package club.skillswap.skillswapbackend.skill.controller;
+
+import club.skillswap.skillswapbackend.skill.dto.SkillSuggestionDto;
+import club.skillswap.skillswapbackend.skill.service.SkillService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/skills")
+public class SkillController {
+
+    private final SkillService skillService;
+
+    public SkillController(SkillService skillService) {
+        this.skillService = skillService;
+    }
+
+    /**
+     * 技能名前缀补全，按使用人数排序。公开接口。
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SkillSuggestionDto>> autocomplete(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "" + SkillService.DEFAULT_AUTOCOMPLETE_LIMIT) int limit) {
+        return ResponseEntity.ok(skillService.autocomplete(prefix, limit));
+    }
+}
@@ -0,0 +1,10 @@
+package club.skillswap.skillswapbackend.skill.dto;
+
+/**
+ * 自动补全的一条候选：技能 ID、标准化后的名称、使用人数。
+ */
+public record SkillSuggestionDto(
+        int id,
+        String name,
+        int userCount
+) {}
@@ -0,0 +1,24 @@
+package club.skillswap.skillswapbackend.skill.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 技能目录：每个标准化后的技能名只存一行，user_skill 通过 skill_id 引用它。
+ * 名称一旦创建就不再修改。
+ */
+@Entity
+@Table(name = "skill")
+@Getter
+@Setter
+public class Skill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // 已经过 trim + 小写
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+}
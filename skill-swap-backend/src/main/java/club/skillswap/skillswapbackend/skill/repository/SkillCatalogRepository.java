@@ -0,0 +1,37 @@
+package club.skillswap.skillswapbackend.skill.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 技能目录的只读批量查询，用于构建自动补全。
+ */
+@Repository
+public class SkillCatalogRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public SkillCatalogRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 遍历所有有人使用的技能及其使用人数。
+     * 按 skill_id 聚合走的是 (skill_id) 索引上的分组，只读整数列。
+     */
+    public void forEachPopularity(PopularityConsumer consumer) {
+        jdbc.query("""
+                select s.id, s.name, c.users
+                from skill s
+                join (select skill_id, count(*) as users from user_skill group by skill_id) c on c.skill_id = s.id
+                """, new MapSqlParameterSource(), rs -> {
+            consumer.accept(rs.getInt("id"), rs.getString("name"), rs.getInt("users"));
+        });
+    }
+
+    @FunctionalInterface
+    public interface PopularityConsumer {
+        void accept(int skillId, String name, int users);
+    }
+}
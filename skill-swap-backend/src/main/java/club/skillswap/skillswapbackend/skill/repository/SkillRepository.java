@@ -0,0 +1,34 @@
+package club.skillswap.skillswapbackend.skill.repository;
+
+import club.skillswap.skillswapbackend.skill.entity.Skill;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SkillRepository extends JpaRepository<Skill, Integer> {
+
+    // 一条 SQL 完成"没有就插入，然后全部查出来"，结果是受管实体，可以直接挂到 UserSkill 上。
+    // 已存在的名字不进 insert，免得 on conflict 白白消耗序列值（技能 ID 要尽量连续，匹配索引拿它当数组下标）。
+    // 并发时另一个未提交事务正在插入同名技能的话，这里会等它提交，但本语句的快照看不到那一行，
+    // 调用方发现缺名字时再调一次即可
+    @Query(value = """
+            with existing as (
+                select id, name from skill where name = any(cast(:names as text[]))
+            ), inserted as (
+                insert into skill (name)
+                select n from unnest(cast(:names as text[])) as n
+                where n not in (select name from existing)
+                on conflict (name) do nothing
+                returning id, name
+            )
+            select id, name from existing
+            union all
+            select id, name from inserted
+            """, nativeQuery = true)
+    List<Skill> upsertAll(@Param("names") String[] names);
+}
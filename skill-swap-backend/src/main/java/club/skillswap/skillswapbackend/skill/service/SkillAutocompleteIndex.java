@@ -0,0 +1,152 @@
+package club.skillswap.skillswapbackend.skill.service;
+
+import club.skillswap.skillswapbackend.skill.dto.SkillSuggestionDto;
+import club.skillswap.skillswapbackend.skill.repository.SkillCatalogRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 技能名前缀补全。技能名按字典序排成数组，前缀对应其中连续的一段，
+ * 二分找到这一段后按使用人数取前几个。
+ * 空前缀和单字符前缀对应的段太长（接近整个数组），它们的前 K 个在构建快照时就算好。
+ *
+ * 整个数组是不可变快照，定期从数据库整体重建后替换，读路径不加锁。
+ * 使用人数因此最多滞后一个刷新周期，补全排序对此不敏感。
+ */
+@Component
+public class SkillAutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillAutocompleteIndex.class);
+
+    // 预计算的条数，不少于接口允许的最大 limit
+    private static final int PRECOMPUTED_TOP = SkillService.MAX_AUTOCOMPLETE_LIMIT;
+
+    private final SkillCatalogRepository skillCatalogRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new int[0], new int[0], Map.of());
+
+    public SkillAutocompleteIndex(SkillCatalogRepository skillCatalogRepository) {
+        this.skillCatalogRepository = skillCatalogRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.skills.autocomplete-refresh-ms:300000}",
+            initialDelayString = "${app.skills.autocomplete-refresh-ms:300000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<Entry> entries = new ArrayList<>();
+        skillCatalogRepository.forEachPopularity((id, name, users) -> entries.add(new Entry(id, name, users)));
+        entries.sort(Comparator.comparing(Entry::name));
+
+        String[] names = new String[entries.size()];
+        int[] ids = new int[entries.size()];
+        int[] users = new int[entries.size()];
+        for (int i = 0; i < names.length; i++) {
+            Entry e = entries.get(i);
+            names[i] = e.name();
+            ids[i] = e.id();
+            users[i] = e.users();
+        }
+        snapshot = new Snapshot(names, ids, users, precomputeShortPrefixes(names, users));
+        log.debug("Skill autocomplete rebuilt: {} skills in {} ms",
+                names.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * prefix 需要已经标准化（trim + 小写）。空前缀返回最常用的技能。
+     */
+    public List<SkillSuggestionDto> complete(String prefix, int limit) {
+        Snapshot s = snapshot;
+        int[] top;
+        if (prefix.length() <= 1 && limit <= PRECOMPUTED_TOP) {
+            // 快照里没有这个首字符说明没有匹配的技能
+            top = s.shortPrefixTop.getOrDefault(prefix, new int[0]);
+        } else {
+            // 同一前缀的名字在排序数组里是连续的，上界就是 prefix + '\uffff' 的插入位置
+            int from = lowerBound(s.names, prefix);
+            int to = lowerBound(s.names, prefix + '\uffff');
+            top = topByUsers(s.names, s.users, from, to, limit);
+        }
+
+        int n = Math.min(limit, top.length);
+        SkillSuggestionDto[] result = new SkillSuggestionDto[n];
+        for (int i = 0; i < n; i++) {
+            int idx = top[i];
+            result[i] = new SkillSuggestionDto(s.ids[idx], s.names[idx], s.users[idx]);
+        }
+        return Arrays.asList(result);
+    }
+
+    // 空前缀和每个首字符各取前 PRECOMPUTED_TOP 个；同一首字符的名字在数组里也是连续的一段
+    private static Map<String, int[]> precomputeShortPrefixes(String[] names, int[] users) {
+        Map<String, int[]> top = new HashMap<>();
+        top.put("", topByUsers(names, users, 0, names.length, PRECOMPUTED_TOP));
+        int from = 0;
+        while (from < names.length) {
+            if (names[from].isEmpty()) {
+                from++;
+                continue;
+            }
+            char first = names[from].charAt(0);
+            int to = from + 1;
+            while (to < names.length && !names[to].isEmpty() && names[to].charAt(0) == first) {
+                to++;
+            }
+            top.put(String.valueOf(first), topByUsers(names, users, from, to, PRECOMPUTED_TOP));
+            from = to;
+        }
+        return top;
+    }
+
+    // [from, to) 里使用人数最多的 k 个下标，人数相同时按字典序，从前往后排好
+    private static int[] topByUsers(String[] names, int[] users, int from, int to, int k) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1,
+                // 小顶堆：人数少的先出堆，人数相同时字典序靠后的先出堆
+                (a, b) -> users[a] != users[b]
+                        ? Integer.compare(users[a], users[b])
+                        : names[b].compareTo(names[a]));
+        for (int i = from; i < to; i++) {
+            heap.offer(i);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    private static int lowerBound(String[] names, String key) {
+        int lo = 0;
+        int hi = names.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (names[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private record Entry(int id, String name, int users) {}
+
+    // shortPrefixTop：空前缀和单字符前缀 -> 预先排好的前 PRECOMPUTED_TOP 个下标
+    private record Snapshot(String[] names, int[] ids, int[] users, Map<String, int[]> shortPrefixTop) {}
+}
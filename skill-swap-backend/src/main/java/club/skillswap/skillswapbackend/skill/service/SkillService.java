@@ -0,0 +1,64 @@
+package club.skillswap.skillswapbackend.skill.service;
+
+import club.skillswap.skillswapbackend.skill.dto.SkillSuggestionDto;
+import club.skillswap.skillswapbackend.skill.entity.Skill;
+import club.skillswap.skillswapbackend.skill.repository.SkillRepository;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class SkillService {
+
+    public static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
+    private final SkillRepository skillRepository;
+    private final SkillAutocompleteIndex autocompleteIndex;
+
+    public SkillService(SkillRepository skillRepository, SkillAutocompleteIndex autocompleteIndex) {
+        this.skillRepository = skillRepository;
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    /**
+     * 把一组已标准化的技能名解析成目录里的 Skill，没有的先创建。
+     * 返回的是当前持久化上下文里的受管实体，必须在调用方的事务里使用。
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, Skill> resolve(Collection<String> names) {
+        Map<String, Skill> byName = new HashMap<>();
+        if (names.isEmpty()) {
+            return byName;
+        }
+        collect(byName, skillRepository.upsertAll(names.toArray(String[]::new)));
+        if (byName.size() < names.size()) {
+            // 同名技能被并发事务刚刚插入，上一条语句的快照看不到，再查一次就能看到
+            collect(byName, skillRepository.upsertAll(
+                    names.stream().filter(n -> !byName.containsKey(n)).toArray(String[]::new)));
+        }
+        if (byName.size() < names.size()) {
+            throw new IllegalStateException("Could not resolve skills: " + names);
+        }
+        return byName;
+    }
+
+    public List<SkillSuggestionDto> autocomplete(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        int clamped = Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_LIMIT));
+        return autocompleteIndex.complete(normalized, clamped);
+    }
+
+    private static void collect(Map<String, Skill> byName, List<Skill> skills) {
+        for (Skill skill : skills) {
+            byName.put(skill.getName(), skill);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package club.skillswap.skillswapbackend.user.controller;
 
+import club.skillswap.skillswapbackend.user.dto.LeaderboardEntryDto;
+import club.skillswap.skillswapbackend.user.dto.RatingSummaryDto;
+import club.skillswap.skillswapbackend.user.dto.SkillMatchDto;
 import club.skillswap.skillswapbackend.user.dto.SkillRequestDto;
 import club.skillswap.skillswapbackend.user.dto.UpdateProfileRequestDto;
 import club.skillswap.skillswapbackend.user.dto.UserProfileDto;
 import club.skillswap.skillswapbackend.user.entity.UserAccount;
 import club.skillswap.skillswapbackend.user.service.UserService;
 
+import club.skillswap.skillswapbackend.common.web.ETags;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -13,6 +20,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -37,15 +46,61 @@ public class UserController {
         return ResponseEntity.ok(userProfile);
     }
 
+    /**
+     * 按共同技能推荐可以交换技能的其他用户。
+     */
+    @GetMapping("/me/matches")
+    public ResponseEntity<List<SkillMatchDto>> getMatches(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_MATCH_LIMIT) int limit) {
+        return ResponseEntity.ok(userService.findMatches(jwt, limit));
+    }
+
     /**
      * 根据 ID 获取任何用户的公开信息。
      * 这个端点是公开的，由 SecurityConfig 配置。
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserProfileDto> getUserProfileById(@PathVariable UUID id) {
-        UserAccount user = userService.findUserById(id);
-        UserProfileDto userProfileDto = UserProfileDto.fromEntity(user);
-        return ResponseEntity.ok(userProfileDto);
+    public ResponseEntity<UserProfileDto> getUserProfileById(
+            @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 带 If-None-Match 时先只查 updated_at，没变就直接 304
+        if (ifNoneMatch != null) {
+            String etag = userService.getProfileEtag(id);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+        }
+        UserProfileDto userProfileDto = userService.getUserProfile(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        String etag = UserService.profileEtag(userProfileDto.getUpdatedAt());
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(userProfileDto);
+    }
+
+    /**
+     * 主持人排行榜，可按 Workshop 分类筛选。公开接口。
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_LEADERBOARD_SIZE) int k) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                .body(userService.getLeaderboard(category, k));
+    }
+
+    /**
+     * 获取用户作为主持人的评分。公开接口。
+     */
+    @GetMapping("/{id}/rating")
+    public ResponseEntity<RatingSummaryDto> getRating(@PathVariable UUID id) {
+        return ResponseEntity.ok(userService.getRating(id));
     }
 
     /**
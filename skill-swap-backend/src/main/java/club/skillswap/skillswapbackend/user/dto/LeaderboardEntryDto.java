@@ -0,0 +1,16 @@
+package club.skillswap.skillswapbackend.user.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 排行榜上的一位主持人，rank 从 1 开始。
+ */
+public record LeaderboardEntryDto(
+        int rank,
+        UUID userId,
+        String username,
+        String avatarUrl,
+        BigDecimal averageRating,
+        int reviewCount
+) {}
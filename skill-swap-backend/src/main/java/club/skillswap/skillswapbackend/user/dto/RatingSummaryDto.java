@@ -0,0 +1,13 @@
+package club.skillswap.skillswapbackend.user.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 主持人的评分汇总。还没有评价时 averageRating 为 null，reviewCount 为 0。
+ */
+public record RatingSummaryDto(
+        UUID userId,
+        BigDecimal averageRating,
+        int reviewCount
+) {}
@@ -0,0 +1,15 @@
+package club.skillswap.skillswapbackend.user.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 技能匹配结果：另一个用户、匹配分数，以及双方共有的技能。
+ */
+public record SkillMatchDto(
+        UUID userId,
+        String username,
+        String avatarUrl,
+        double score,
+        List<String> sharedSkills
+) {}
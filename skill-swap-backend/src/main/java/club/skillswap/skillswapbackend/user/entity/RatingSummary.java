@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -27,6 +28,11 @@ public class RatingSummary {
     @JsonIgnore
     private UserAccount user;
 
+    // 评分总和。新评价在这上面原子地累加，平均分 = rating_sum / review_count，不需要扫 review 表
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", nullable = false, precision = 12, scale = 1)
+    private BigDecimal ratingSum;
+
     @Column(name = "average_rating", precision = 3, scale = 2)
     private BigDecimal averageRating;
 
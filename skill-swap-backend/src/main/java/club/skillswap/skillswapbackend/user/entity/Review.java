@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "review")
+@Table(name = "review",
+       uniqueConstraints = @UniqueConstraint(name = "uk_review_workshop_reviewer", columnNames = {"workshop_id", "reviewer_id"}),
+       indexes = @Index(name = "idx_review_host", columnList = "host_id"))
 @Getter
 @Setter
 public class Review {
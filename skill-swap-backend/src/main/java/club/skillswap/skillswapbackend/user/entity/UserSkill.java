@@ -1,18 +1,23 @@
 package club.skillswap.skillswapbackend.user.entity;
 
+import club.skillswap.skillswapbackend.skill.entity.Skill;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "user_skill")
+@Table(name = "user_skill",
+       uniqueConstraints = @UniqueConstraint(name = "uk_user_skill_user_skill", columnNames = {"user_id", "skill_id"}),
+       indexes = @Index(name = "idx_user_skill_skill", columnList = "skill_id"))
 @Getter
 @Setter
 public class UserSkill {
 
+    // 用序列一次预取 50 个 ID（库里的序列步长也必须是 50），插入才能走 JDBC 批量
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_skill_id_seq")
+    @SequenceGenerator(name = "user_skill_id_seq", sequenceName = "user_skill_id_seq", allocationSize = 50)
     private Long id;
 
     // 多对一关联到 UserAccount
@@ -21,9 +26,15 @@ public class UserSkill {
     @JsonIgnore // 防止在序列化时产生循环引用
     private UserAccount user;
 
-    @Column(name = "skill_name", nullable = false)
-    private String skillName;
+    // 引用技能目录，按整数 ID 比较和关联；名称从目录里取
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "skill_id", nullable = false)
+    private Skill skill;
 
     @Column(name = "skill_level")
     private String skillLevel;
+
+    public String getSkillName() {
+        return skill.getName();
+    }
 }
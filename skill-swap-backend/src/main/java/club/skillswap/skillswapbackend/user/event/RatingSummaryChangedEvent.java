@@ -0,0 +1,13 @@
+package club.skillswap.skillswapbackend.user.event;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 主持人的评分汇总变化后发布（监听方在事务提交后处理）。
+ */
+public record RatingSummaryChangedEvent(
+    UUID userId,
+    BigDecimal averageRating,
+    int reviewCount
+) {}
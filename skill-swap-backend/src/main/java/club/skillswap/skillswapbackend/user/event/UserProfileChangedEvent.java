@@ -0,0 +1,9 @@
+package club.skillswap.skillswapbackend.user.event;
+
+import java.util.UUID;
+
+/**
+ * 用户改了用户名或头像后发布（监听方在事务提交后处理）。
+ * 这两项会出现在别处缓存的数据里，比如 Workshop 的主持人信息。
+ */
+public record UserProfileChangedEvent(UUID userId) {}
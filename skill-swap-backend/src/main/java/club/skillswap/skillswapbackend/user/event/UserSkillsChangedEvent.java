@@ -0,0 +1,18 @@
+package club.skillswap.skillswapbackend.user.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 用户的技能发生变化后发布（监听方在事务提交后处理）。
+ * skills 是变化后的完整技能列表。
+ */
+public record UserSkillsChangedEvent(
+    UUID userId,
+    List<SkillEntry> skills
+) {
+    /**
+     * skillId 是技能目录的 ID，skillLevel 可能为 null。
+     */
+    public record SkillEntry(int skillId, String skillName, String skillLevel) {}
+}
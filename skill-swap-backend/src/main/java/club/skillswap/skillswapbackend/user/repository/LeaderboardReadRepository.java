@@ -0,0 +1,74 @@
+package club.skillswap.skillswapbackend.user.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 排行榜构建用的只读查询：主持人的评分、展示信息和主持过的 Workshop 分类。
+ */
+@Repository
+public class LeaderboardReadRepository {
+
+    private static final String SELECT_HOST = """
+            select s.user_id, s.average_rating, s.review_count, u.username, u.avatar_url,
+                   array(select distinct w.category from workshops w
+                         where w.facilitator_id = s.user_id and w.category is not null) as categories
+            from rating_summary s
+            join user_account u on u.id = s.user_id
+            """;
+
+    private static final RowMapper<Host> HOST_MAPPER = LeaderboardReadRepository::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public LeaderboardReadRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 所有评价数达到门槛的主持人。只扫 rating_summary（每个被评价过的主持人一行），不碰 review 表。
+     */
+    public List<Host> findRankedHosts(int minReviews) {
+        return jdbc.query(SELECT_HOST + "where s.review_count >= :minReviews",
+                new MapSqlParameterSource("minReviews", minReviews), HOST_MAPPER);
+    }
+
+    public Optional<Host> findHost(UUID userId) {
+        List<Host> rows = jdbc.query(SELECT_HOST + "where s.user_id = :userId",
+                new MapSqlParameterSource("userId", userId), HOST_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    public record Host(UUID userId, BigDecimal averageRating, int reviewCount,
+                       String username, String avatarUrl, Set<String> categories) {}
+
+    private static Host mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Host(
+                rs.getObject("user_id", UUID.class),
+                rs.getBigDecimal("average_rating"),
+                rs.getInt("review_count"),
+                rs.getString("username"),
+                rs.getString("avatar_url"),
+                toSet(rs.getArray("categories")));
+    }
+
+    private static Set<String> toSet(Array array) throws SQLException {
+        try {
+            return Set.copyOf(Arrays.asList((String[]) array.getArray()));
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package club.skillswap.skillswapbackend.user.repository;
+
+import club.skillswap.skillswapbackend.user.dto.RatingSummaryDto;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 评价和评分汇总的写路径。
+ * rating_summary 保存评分总和与条数，每条新评价只对主持人那一行做一次原子累加，
+ * 读评分永远是按主键查一行，和评价数量无关。
+ */
+@Repository
+public class ReviewRepository {
+
+    private static final RowMapper<RatingSummaryDto> SUMMARY_MAPPER = (rs, rowNum) -> new RatingSummaryDto(
+            rs.getObject("user_id", UUID.class), rs.getBigDecimal("average_rating"), rs.getInt("review_count"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ReviewRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 插入评价并累加到主持人的汇总行，一条 SQL。
+     * 只有已结束（completed）的 Workshop、报名了它、不是主持人本人、并且还没评价过的用户能插进去，
+     * 否则返回 empty，由调用方区分原因。
+     * 汇总行上的 update 持有行锁直到事务结束，同一主持人的并发评价在这里排队，不会丢失累加。
+     */
+    public Optional<RatingSummaryDto> insertAndApply(long workshopId, UUID reviewerId, BigDecimal rating, String comment) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("workshopId", workshopId)
+                .addValue("reviewerId", reviewerId)
+                .addValue("rating", rating)
+                .addValue("comment", comment);
+        List<RatingSummaryDto> rows = jdbc.query("""
+                with inserted as (
+                    insert into review (workshop_id, reviewer_id, host_id, rating, comment, created_at)
+                    select w.id, p.user_id, w.facilitator_id, :rating, :comment, now()
+                    from workshops w
+                    join workshop_participants p on p.workshop_id = w.id and p.user_id = :reviewerId
+                    where w.id = :workshopId and w.status = 'completed' and w.facilitator_id <> p.user_id
+                    on conflict (workshop_id, reviewer_id) do nothing
+                    returning host_id, rating
+                )
+                insert into rating_summary as s (user_id, rating_sum, review_count, average_rating, updated_at)
+                select host_id, rating, 1, rating, now() from inserted
+                on conflict (user_id) do update set
+                    rating_sum = s.rating_sum + excluded.rating_sum,
+                    review_count = coalesce(s.review_count, 0) + 1,
+                    average_rating = round((s.rating_sum + excluded.rating_sum) / (coalesce(s.review_count, 0) + 1), 2),
+                    updated_at = now()
+                returning user_id, average_rating, review_count
+                """, params, SUMMARY_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    public boolean exists(long workshopId, UUID reviewerId) {
+        List<Integer> rows = jdbc.queryForList("""
+                select 1 from review where workshop_id = :workshopId and reviewer_id = :reviewerId
+                """, new MapSqlParameterSource()
+                .addValue("workshopId", workshopId)
+                .addValue("reviewerId", reviewerId), Integer.class);
+        return !rows.isEmpty();
+    }
+
+    public Optional<RatingSummaryDto> findSummary(UUID userId) {
+        List<RatingSummaryDto> rows = jdbc.query("""
+                select user_id, average_rating, coalesce(review_count, 0) as review_count
+                from rating_summary where user_id = :userId
+                """, new MapSqlParameterSource("userId", userId), SUMMARY_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    // ============== 离线修复 ==============
+
+    /**
+     * 按 user_id 顺序锁住一批汇总行，返回它们的 user_id。
+     * 必须和 recompute 在同一个事务里调用：先锁再重算，期间新提交的评价要么已经计入重算结果，
+     * 要么会在锁释放后再累加一次，不会被重算覆盖掉。
+     */
+    public List<UUID> lockSummaries(UUID afterUserId, int limit) {
+        return jdbc.queryForList("""
+                select user_id from rating_summary
+                where user_id > :afterUserId
+                order by user_id
+                limit :limit
+                for update
+                """, new MapSqlParameterSource()
+                .addValue("afterUserId", afterUserId)
+                .addValue("limit", limit), UUID.class);
+    }
+
+    /**
+     * 按 review 表重算这些汇总行，只改和实际不一致的行，返回修复的行数。
+     */
+    public int recompute(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbc.update("""
+                update rating_summary s set
+                    rating_sum = a.rating_sum,
+                    review_count = a.review_count,
+                    average_rating = case when a.review_count > 0 then round(a.rating_sum / a.review_count, 2) end,
+                    updated_at = now()
+                from (
+                    select u.user_id, coalesce(r.rating_sum, 0) as rating_sum, coalesce(r.review_count, 0) as review_count
+                    from rating_summary u
+                    left join (
+                        select host_id, sum(rating) as rating_sum, count(*) as review_count
+                        from review where host_id in (:userIds)
+                        group by host_id
+                    ) r on r.host_id = u.user_id
+                    where u.user_id in (:userIds)
+                ) a
+                where s.user_id = a.user_id
+                  and (s.rating_sum, coalesce(s.review_count, 0), s.average_rating)
+                      is distinct from (a.rating_sum, a.review_count,
+                                        case when a.review_count > 0 then round(a.rating_sum / a.review_count, 2) end)
+                """, new MapSqlParameterSource("userIds", userIds));
+    }
+
+    /**
+     * 有评价却没有汇总行的主持人（旧数据），补建汇总行。
+     * 遇到并发新建的汇总行直接跳过，不覆盖，留给下一轮修复。
+     */
+    public int insertMissingSummaries() {
+        return jdbc.update("""
+                insert into rating_summary (user_id, rating_sum, review_count, average_rating, updated_at)
+                select host_id, sum(rating), count(*), round(sum(rating) / count(*), 2), now()
+                from review r
+                where not exists (select 1 from rating_summary s where s.user_id = r.host_id)
+                group by host_id
+                on conflict (user_id) do nothing
+                """, new MapSqlParameterSource());
+    }
+}
@@ -0,0 +1,61 @@
+package club.skillswap.skillswapbackend.user.repository;
+
+import club.skillswap.skillswapbackend.user.dto.UserProfileDto;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 首次登录时创建 user_account。一条 insert ... on conflict do nothing 完成“检查 + 生成用户名 + 插入”，
+ * 同一个 sub 并发首次登录时只有一条能插进去，另一条什么都不做，不会报唯一约束错误。
+ */
+@Repository
+public class UserProvisioningRepository {
+
+    // 基础用户名没人用就直接用，否则（或调用方要求时）加 4 位随机后缀
+    private static final String INSERT_USER = """
+            insert into user_account (id, username, created_at, updated_at)
+            select :id,
+                   case when :forceSuffix or exists (select 1 from user_account where username = :base)
+                        then :base || '_' || substr(md5(random()::text), 1, 4)
+                        else :base
+                   end,
+                   now(), now()
+            on conflict do nothing
+            returning id, username, avatar_url, bio, created_at, updated_at
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public UserProvisioningRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 插入成功返回新用户的资料；冲突（用户已存在，或者生成的用户名刚好被占用）时返回 empty。
+     */
+    public Optional<UserProfileDto> insertIfAbsent(UUID id, String baseUsername, boolean forceSuffix) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("base", baseUsername)
+                .addValue("forceSuffix", forceSuffix);
+        List<UserProfileDto> rows = jdbc.query(INSERT_USER, params, (rs, rowNum) -> {
+            UserProfileDto dto = new UserProfileDto();
+            dto.setId(rs.getObject("id", UUID.class));
+            dto.setUsername(rs.getString("username"));
+            dto.setAvatarUrl(rs.getString("avatar_url"));
+            dto.setBio(rs.getString("bio"));
+            dto.setSkills(List.of());
+            dto.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class).toInstant());
+            dto.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class).toInstant());
+            return dto;
+        });
+        return rows.stream().findFirst();
+    }
+}
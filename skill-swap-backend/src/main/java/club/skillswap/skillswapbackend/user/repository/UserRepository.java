@@ -1,14 +1,43 @@
 package club.skillswap.skillswapbackend.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import club.skillswap.skillswapbackend.user.entity.UserAccount;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserAccount, UUID> {
     Optional<UserAccount> findByUsername(String username);
+
+    // 连同技能（含技能目录里的名称，以及一对一的 ratingSummary）一起查出来，一条 SQL，转 DTO 时不会再触发懒加载
+    @Query("""
+            select u from UserAccount u
+            left join fetch u.skills us
+            left join fetch us.skill
+            left join fetch u.ratingSummary
+            where u.id = :id
+            """)
+    Optional<UserAccount> findByIdWithSkills(@Param("id") UUID id);
+
+    // 只查更新时间，用于 ETag 预检
+    @Query("select u.updatedAt from UserAccount u where u.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") UUID id);
+
+    // 只查用户名和头像，不加载实体：一对一的 ratingSummary 在被映射的一方无法懒加载，加载实体会每个用户多一条 SQL
+    @Query("select u.id as id, u.username as username, u.avatarUrl as avatarUrl from UserAccount u where u.id in :ids")
+    List<UserCard> findCardsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    interface UserCard {
+        UUID getId();
+        String getUsername();
+        String getAvatarUrl();
+    }
 }
\ No newline at end of file
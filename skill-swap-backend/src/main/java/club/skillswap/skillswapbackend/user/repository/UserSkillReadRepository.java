@@ -0,0 +1,56 @@
+package club.skillswap.skillswapbackend.user.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * user_skill 的批量只读访问，用于构建技能匹配索引，不经过 Hibernate 实体。
+ */
+@Repository
+public class UserSkillReadRepository {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public UserSkillReadRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 按 user_skill.id 分批遍历所有技能记录，每批一条短查询。
+     */
+    public void forEachSkill(SkillConsumer consumer) {
+        long afterId = 0;
+        while (true) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("afterId", afterId)
+                    .addValue("limit", BATCH_SIZE);
+            List<Long> ids = jdbc.query("""
+                    select us.id, us.user_id, us.skill_id, s.name, us.skill_level
+                    from user_skill us
+                    join skill s on s.id = us.skill_id
+                    where us.id > :afterId
+                    order by us.id
+                    limit :limit
+                    """, params, (rs, rowNum) -> {
+                consumer.accept(rs.getObject("user_id", UUID.class), rs.getInt("skill_id"),
+                        rs.getString("name"), rs.getString("skill_level"));
+                return rs.getLong("id");
+            });
+            if (ids.size() < BATCH_SIZE) {
+                return;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SkillConsumer {
+        void accept(UUID userId, int skillId, String skillName, String skillLevel);
+    }
+}
@@ -0,0 +1,306 @@
+package club.skillswap.skillswapbackend.user.service;
+
+import club.skillswap.skillswapbackend.user.dto.LeaderboardEntryDto;
+import club.skillswap.skillswapbackend.user.event.RatingSummaryChangedEvent;
+import club.skillswap.skillswapbackend.user.repository.LeaderboardReadRepository;
+import club.skillswap.skillswapbackend.user.repository.LeaderboardReadRepository.Host;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopCreatedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 主持人排行榜（总榜 + 每个 Workshop 分类一个榜），完全在内存里维护。
+ *
+ * 每个榜只保留前 MAX_K 名，评分变化时在有序集合里删旧插新，读请求直接返回预先排好的不可变列表，不访问数据库。
+ * 榜上有人掉分跌出前 MAX_K 后，榜单可能不足 MAX_K 人，这时从该榜的全部候选里补齐一次。
+ * 分类归属只在新建 Workshop 时增加；删除 Workshop、改名换头像等由定期全量重建修正。
+ *
+ * 事件在各自事务提交后到达，先后顺序不保证：review_count 每条评价只加一，事件里的条数不比榜上的大就是过期事件，直接忽略。
+ * 全量重建读库到替换之间到达的事件先缓存，替换后重放，不会被重建结果覆盖掉。
+ */
+@Component
+public class FacilitatorLeaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(FacilitatorLeaderboard.class);
+
+    public static final int MAX_K = 100;
+
+    // 评分高的在前；同分时评价多的在前；再按 ID 保证顺序稳定
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing(Entry::averageRating, Comparator.reverseOrder())
+            .thenComparing(Entry::reviewCount, Comparator.reverseOrder())
+            .thenComparing(Entry::userId);
+
+    private final LeaderboardReadRepository leaderboardReadRepository;
+    private final int minReviews;
+
+    // 以下状态都由 this 保护；读路径只读 Board.view（volatile），不加锁
+    private Map<UUID, Entry> entries = new HashMap<>();
+    private Map<UUID, Set<String>> categoriesByHost = new HashMap<>();
+    private final Board overall = new Board();
+    private volatile Map<String, Board> byCategory = Map.of();
+    // 正在全量重建时不为 null，收到的事件先放这里
+    private List<Runnable> deferred;
+    private final Object rebuildLock = new Object();
+
+    public FacilitatorLeaderboard(LeaderboardReadRepository leaderboardReadRepository,
+                                  @Value("${app.leaderboard.min-reviews:3}") int minReviews) {
+        this.leaderboardReadRepository = leaderboardReadRepository;
+        // 至少一条评价才有平均分
+        this.minReviews = Math.max(1, minReviews);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.leaderboard.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.leaderboard.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        // 重建之间串行；不占用 this，读库期间事件照常进来（先缓存）
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                deferred = new ArrayList<>();
+            }
+            List<Host> hosts;
+            try {
+                hosts = leaderboardReadRepository.findRankedHosts(minReviews);
+            } catch (RuntimeException e) {
+                finishRebuild(null);
+                throw e;
+            }
+            finishRebuild(hosts);
+            log.info("Leaderboard rebuilt: {} hosts, {} categories in {} ms",
+                    hosts.size(), byCategory.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRatingChanged(RatingSummaryChangedEvent event) {
+        Entry previous;
+        synchronized (this) {
+            if (deferred != null) {
+                deferred.add(() -> onRatingChanged(event));
+                return;
+            }
+            previous = entries.get(event.userId());
+        }
+        if (isStale(previous, event)) {
+            return;
+        }
+        Entry updated = null;
+        Set<String> categories = null;
+        if (event.reviewCount() >= minReviews) {
+            if (previous != null) {
+                updated = new Entry(event.userId(), previous.username(), previous.avatarUrl(),
+                        event.averageRating(), event.reviewCount());
+            } else {
+                // 第一次上榜，需要用户名和分类；数据库查询放在锁外面
+                Host host = leaderboardReadRepository.findHost(event.userId()).orElse(null);
+                if (host != null) {
+                    updated = Entry.of(host);
+                    categories = host.categories();
+                }
+            }
+        }
+        synchronized (this) {
+            // 查库期间可能有更新的事件或一次重建先生效了
+            if (!isStale(entries.get(event.userId()), event)) {
+                apply(event.userId(), updated, categories);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onWorkshopCreated(WorkshopCreatedEvent event) {
+        WorkshopResponseDto workshop = event.workshop();
+        if (workshop.category() == null || workshop.facilitator() == null) {
+            return;
+        }
+        UUID hostId = UUID.fromString(workshop.facilitator().id().substring(2));
+        synchronized (this) {
+            if (deferred != null) {
+                deferred.add(() -> onWorkshopCreated(event));
+                return;
+            }
+            Set<String> categories = categoriesByHost.computeIfAbsent(hostId, id -> new HashSet<>());
+            if (!categories.add(workshop.category())) {
+                return;
+            }
+            Entry entry = entries.get(hostId);
+            if (entry != null) {
+                boardFor(workshop.category()).update(null, entry, () -> candidates(workshop.category()));
+            }
+        }
+    }
+
+    /**
+     * category 为 null 时返回总榜。k 超过 MAX_K 时按 MAX_K 处理。
+     */
+    public List<LeaderboardEntryDto> top(String category, int k) {
+        Board board = category == null ? overall : byCategory.get(category);
+        if (board == null) {
+            return List.of();
+        }
+        List<LeaderboardEntryDto> view = board.view;
+        return view.size() <= k ? view : view.subList(0, k);
+    }
+
+    /**
+     * 用读到的数据替换整个榜单（hosts 为 null 表示读库失败，保留原状态），再重放期间缓存的事件。
+     * 重放走正常的事件处理，比重建结果旧的评分事件会被忽略。
+     */
+    private void finishRebuild(List<Host> hosts) {
+        List<Runnable> replay;
+        synchronized (this) {
+            if (hosts != null) {
+                replaceAll(hosts);
+            }
+            replay = deferred;
+            deferred = null;
+        }
+        replay.forEach(Runnable::run);
+    }
+
+    private static boolean isStale(Entry current, RatingSummaryChangedEvent event) {
+        return current != null && event.reviewCount() <= current.reviewCount();
+    }
+
+    // ============== 以下方法都要求调用方持有 this 的锁 ==============
+
+    private void replaceAll(List<Host> hosts) {
+        entries = new HashMap<>();
+        categoriesByHost = new HashMap<>();
+        for (Host host : hosts) {
+            entries.put(host.userId(), Entry.of(host));
+            categoriesByHost.put(host.userId(), new HashSet<>(host.categories()));
+        }
+        overall.refill(entries.values());
+        Map<String, List<Entry>> candidates = new HashMap<>();
+        categoriesByHost.forEach((userId, categories) -> {
+            for (String category : categories) {
+                candidates.computeIfAbsent(category, c -> new ArrayList<>()).add(entries.get(userId));
+            }
+        });
+        Map<String, Board> boards = new HashMap<>();
+        candidates.forEach((category, list) -> boards.computeIfAbsent(category, c -> new Board()).refill(list));
+        byCategory = boards;
+    }
+
+    private void apply(UUID userId, Entry updated, Set<String> newCategories) {
+        Entry previous = updated == null ? entries.remove(userId) : entries.put(userId, updated);
+        if (previous == null && updated == null) {
+            return;
+        }
+        if (newCategories != null) {
+            categoriesByHost.computeIfAbsent(userId, id -> new HashSet<>()).addAll(newCategories);
+        }
+        overall.update(previous, updated, entries::values);
+        for (String category : categoriesByHost.getOrDefault(userId, Set.of())) {
+            boardFor(category).update(previous, updated, () -> candidates(category));
+        }
+    }
+
+    private Board boardFor(String category) {
+        Board board = byCategory.get(category);
+        if (board == null) {
+            // 新分类很少出现，整体复制一份再替换，读路径拿到的 Map 始终不变
+            Map<String, Board> copy = new HashMap<>(byCategory);
+            board = new Board();
+            copy.put(category, board);
+            byCategory = copy;
+        }
+        return board;
+    }
+
+    private List<Entry> candidates(String category) {
+        List<Entry> result = new ArrayList<>();
+        categoriesByHost.forEach((userId, categories) -> {
+            Entry entry = entries.get(userId);
+            if (entry != null && categories.contains(category)) {
+                result.add(entry);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 单个榜：最多 MAX_K 个条目的有序集合，加上给读路径用的不可变快照。
+     */
+    private static final class Board {
+        private final TreeSet<Entry> top = new TreeSet<>(ORDER);
+        // 榜外是否还有候选人（榜满之后被挤出去的）
+        private boolean truncated;
+        volatile List<LeaderboardEntryDto> view = List.of();
+
+        void update(Entry previous, Entry updated, Supplier<Iterable<Entry>> candidates) {
+            boolean changed = previous != null && top.remove(previous);
+            if (updated != null && (top.size() < MAX_K || ORDER.compare(updated, top.last()) < 0)) {
+                top.add(updated);
+                changed = true;
+                if (top.size() > MAX_K) {
+                    top.pollLast();
+                    truncated = true;
+                }
+            } else if (updated != null) {
+                truncated = true;
+            }
+            if (top.size() < MAX_K && truncated) {
+                // 有人跌出榜单，榜外的人才可能补进来，这时才扫一遍候选
+                refill(candidates.get());
+                return;
+            }
+            if (changed) {
+                publish();
+            }
+        }
+
+        void refill(Iterable<Entry> candidates) {
+            top.clear();
+            int total = 0;
+            for (Entry entry : candidates) {
+                total++;
+                top.add(entry);
+                if (top.size() > MAX_K) {
+                    top.pollLast();
+                }
+            }
+            truncated = total > MAX_K;
+            publish();
+        }
+
+        private void publish() {
+            List<LeaderboardEntryDto> list = new ArrayList<>(top.size());
+            int rank = 1;
+            for (Entry e : top) {
+                list.add(new LeaderboardEntryDto(rank++, e.userId(), e.username(), e.avatarUrl(),
+                        e.averageRating(), e.reviewCount()));
+            }
+            view = List.copyOf(list);
+        }
+    }
+
+    private record Entry(UUID userId, String username, String avatarUrl, BigDecimal averageRating, int reviewCount) {
+        static Entry of(Host host) {
+            return new Entry(host.userId(), host.username(), host.avatarUrl(), host.averageRating(), host.reviewCount());
+        }
+    }
+}
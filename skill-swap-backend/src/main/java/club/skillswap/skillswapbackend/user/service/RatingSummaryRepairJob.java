@@ -0,0 +1,44 @@
+package club.skillswap.skillswapbackend.user.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 离线修复评分汇总的漂移（手工改数据、删评价、历史数据等）。
+ * 平时汇总由提交评价时的增量累加维护，这个任务只是兜底，默认每天凌晨跑一次。
+ * 每批一个短事务，只锁这一批汇总行，不影响其他主持人的评价提交。
+ */
+@Component
+public class RatingSummaryRepairJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingSummaryRepairJob.class);
+
+    private final RatingSummaryRepairService repairService;
+    private final int batchSize;
+
+    public RatingSummaryRepairJob(RatingSummaryRepairService repairService,
+                                  @Value("${app.reviews.repair-batch-size:1000}") int batchSize) {
+        this.repairService = repairService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.reviews.repair-cron:0 30 3 * * *}")
+    public int repairAll() {
+        long start = System.nanoTime();
+        int repaired = repairService.insertMissing();
+        UUID after = new UUID(0, 0);
+        while (after != null) {
+            RatingSummaryRepairService.Batch batch = repairService.repairBatch(after, batchSize);
+            repaired += batch.repaired();
+            after = batch.lastUserId();
+        }
+        log.info("Rating summary repair finished: {} rows fixed in {} ms",
+                repaired, (System.nanoTime() - start) / 1_000_000);
+        return repaired;
+    }
+}
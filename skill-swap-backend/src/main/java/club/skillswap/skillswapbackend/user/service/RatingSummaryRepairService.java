@@ -0,0 +1,40 @@
+package club.skillswap.skillswapbackend.user.service;
+
+import club.skillswap.skillswapbackend.user.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 评分汇总修复的单批事务：先锁一批汇总行，再按 review 表重算。
+ */
+@Service
+@RequiredArgsConstructor
+public class RatingSummaryRepairService {
+
+    private final ReviewRepository reviewRepository;
+
+    /**
+     * 返回本批最后一个 user_id（没有更多行时为 null）和修复的行数。
+     */
+    @Transactional
+    public Batch repairBatch(UUID afterUserId, int batchSize) {
+        List<UUID> userIds = reviewRepository.lockSummaries(afterUserId, batchSize);
+        if (userIds.isEmpty()) {
+            return new Batch(null, 0);
+        }
+        int repaired = reviewRepository.recompute(userIds);
+        return new Batch(userIds.size() < batchSize ? null : userIds.get(userIds.size() - 1), repaired);
+    }
+
+    @Transactional
+    public int insertMissing() {
+        return reviewRepository.insertMissingSummaries();
+    }
+
+    public record Batch(UUID lastUserId, int repaired) {}
+}
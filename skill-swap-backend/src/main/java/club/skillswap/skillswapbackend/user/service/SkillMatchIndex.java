@@ -0,0 +1,255 @@
+package club.skillswap.skillswapbackend.user.service;
+
+import club.skillswap.skillswapbackend.user.event.UserSkillsChangedEvent;
+import club.skillswap.skillswapbackend.user.event.UserSkillsChangedEvent.SkillEntry;
+import club.skillswap.skillswapbackend.user.repository.UserSkillReadRepository;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 技能 -> 用户的进程内倒排索引，用来找有共同技能的交换伙伴。
+ *
+ * 用户 UUID 在索引内映射成连续的 int 序号，技能直接用技能目录的 ID 做下标，每个技能按水平分成几个
+ * RoaringBitmap，匹配时只遍历调用者自己那几个技能的位图，不需要对 user_skill 做自连接。
+ * 启动时全量构建一次，之后由 UserSkillsChangedEvent 增量更新。
+ */
+@Component
+public class SkillMatchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillMatchIndex.class);
+
+    // 水平编号：0 表示未填写；对方水平越高，这项共同技能的权重越大
+    private static final String[] LEVELS = {null, "beginner", "intermediate", "advanced", "expert"};
+    private static final float[] LEVEL_WEIGHTS = {1.0f, 1.0f, 1.2f, 1.4f, 1.6f};
+    private static final int[] EMPTY = new int[0];
+
+    private final UserSkillReadRepository userSkillReadRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<UUID, Integer> ordinalByUser = new HashMap<>();
+    private UUID[] users = new UUID[1024];
+    // 每个用户的技能，编码为 skillId * LEVELS.length + level（skillId 即技能目录 ID）
+    private int[][] userSkills = new int[1024][];
+    private int userCount;
+    private int activeUsers;
+
+    // 以下数组都以技能目录 ID 为下标
+    private String[] skillNames = new String[256];
+    private RoaringBitmap[][] postings = new RoaringBitmap[256][];
+    private int[] skillDf = new int[256];
+    private int skillCount;
+
+    public SkillMatchIndex(UserSkillReadRepository userSkillReadRepository) {
+        this.userSkillReadRepository = userSkillReadRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            // 先按用户收集，再整体写入索引
+            Map<UUID, List<SkillEntry>> byUser = new HashMap<>();
+            userSkillReadRepository.forEachSkill((userId, skillId, skillName, skillLevel) ->
+                    byUser.computeIfAbsent(userId, id -> new ArrayList<>(8))
+                            .add(new SkillEntry(skillId, skillName, skillLevel)));
+            clear();
+            byUser.forEach(this::replaceLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Skill match index built: {} users, {} skills in {} ms",
+                activeUsers, skillCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onSkillsChanged(UserSkillsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            replaceLocked(event.userId(), event.skills());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按共同技能给其他用户打分，返回分数最高的 limit 个。
+     * 每项共同技能的分数 = 技能稀有度（idf）* 对方在这项技能上的水平权重。
+     */
+    public List<Match> findMatches(UUID userId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer me = ordinalByUser.get(userId);
+            if (me == null || userSkills[me].length == 0 || limit <= 0) {
+                return List.of();
+            }
+            int[] mySkills = userSkills[me];
+            float[] scores = new float[userCount];
+            int[] touched = new int[64];
+            int touchedCount = 0;
+
+            for (int code : mySkills) {
+                int skillId = code / LEVELS.length;
+                float idf = (float) Math.log(1.0 + (double) activeUsers / skillDf[skillId]);
+                RoaringBitmap[] byLevel = postings[skillId];
+                for (int level = 0; level < byLevel.length; level++) {
+                    RoaringBitmap bitmap = byLevel[level];
+                    if (bitmap == null) {
+                        continue;
+                    }
+                    float weight = idf * LEVEL_WEIGHTS[level];
+                    IntIterator it = bitmap.getIntIterator();
+                    while (it.hasNext()) {
+                        int other = it.next();
+                        if (other == me) {
+                            continue;
+                        }
+                        if (scores[other] == 0f) {
+                            if (touchedCount == touched.length) {
+                                touched = Arrays.copyOf(touched, touchedCount * 2);
+                            }
+                            touched[touchedCount++] = other;
+                        }
+                        scores[other] += weight;
+                    }
+                }
+            }
+
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                    (a, b) -> Float.compare(scores[a], scores[b]));
+            for (int i = 0; i < touchedCount; i++) {
+                top.offer(touched[i]);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            Match[] result = new Match[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                int other = top.poll();
+                result[i] = new Match(users[other], scores[other], sharedSkills(mySkills, userSkills[other]));
+            }
+            return Arrays.asList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Match(UUID userId, double score, List<String> sharedSkills) {}
+
+    // ============== 以下方法都要求调用方持有写锁 ==============
+
+    private void replaceLocked(UUID userId, List<SkillEntry> skills) {
+        Integer ordinal = ordinalByUser.get(userId);
+        if (ordinal == null) {
+            if (skills.isEmpty()) {
+                return;
+            }
+            ordinal = userCount++;
+            if (ordinal == users.length) {
+                users = Arrays.copyOf(users, ordinal * 2);
+                userSkills = Arrays.copyOf(userSkills, ordinal * 2);
+            }
+            users[ordinal] = userId;
+            userSkills[ordinal] = EMPTY;
+            ordinalByUser.put(userId, ordinal);
+        }
+
+        int[] old = userSkills[ordinal];
+        for (int code : old) {
+            int skillId = code / LEVELS.length;
+            postings[skillId][code % LEVELS.length].remove(ordinal);
+            skillDf[skillId]--;
+        }
+
+        int[] codes = new int[skills.size()];
+        int n = 0;
+        for (SkillEntry entry : skills) {
+            int skillId = entry.skillId();
+            int level = levelOf(entry.skillLevel());
+            RoaringBitmap[] byLevel = skill(skillId, entry.skillName());
+            if (byLevel[level] == null) {
+                byLevel[level] = new RoaringBitmap();
+            }
+            byLevel[level].add(ordinal);
+            skillDf[skillId]++;
+            codes[n++] = skillId * LEVELS.length + level;
+        }
+        userSkills[ordinal] = n == 0 ? EMPTY : codes;
+
+        if (old.length == 0 && n > 0) {
+            activeUsers++;
+        } else if (old.length > 0 && n == 0) {
+            activeUsers--;
+        }
+    }
+
+    private RoaringBitmap[] skill(int skillId, String name) {
+        if (skillId >= postings.length) {
+            int size = Math.max(skillId + 1, postings.length * 2);
+            skillNames = Arrays.copyOf(skillNames, size);
+            postings = Arrays.copyOf(postings, size);
+            skillDf = Arrays.copyOf(skillDf, size);
+        }
+        if (postings[skillId] == null) {
+            postings[skillId] = new RoaringBitmap[LEVELS.length];
+            skillNames[skillId] = name;
+            skillCount++;
+        }
+        return postings[skillId];
+    }
+
+    private void clear() {
+        ordinalByUser = new HashMap<>();
+        users = new UUID[1024];
+        userSkills = new int[1024][];
+        userCount = 0;
+        activeUsers = 0;
+        skillNames = new String[256];
+        postings = new RoaringBitmap[256][];
+        skillDf = new int[256];
+        skillCount = 0;
+    }
+
+    private List<String> sharedSkills(int[] mine, int[] theirs) {
+        List<String> shared = new ArrayList<>();
+        for (int a : mine) {
+            for (int b : theirs) {
+                if (a / LEVELS.length == b / LEVELS.length) {
+                    shared.add(skillNames[a / LEVELS.length]);
+                    break;
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static int levelOf(String level) {
+        if (level == null || level.isBlank()) {
+            return 0;
+        }
+        String normalized = level.trim().toLowerCase(Locale.ROOT);
+        for (int i = 1; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(normalized)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -1,32 +1,81 @@
 package club.skillswap.skillswapbackend.user.service;
 
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.oauth2.jwt.Jwt;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.apache.commons.lang3.RandomStringUtils;
 
+import club.skillswap.skillswapbackend.common.audit.AuditLogger;
 import club.skillswap.skillswapbackend.common.exception.DomainException;
 import club.skillswap.skillswapbackend.common.exception.ResourceNotFoundException;
+import club.skillswap.skillswapbackend.common.web.ETags;
+import club.skillswap.skillswapbackend.skill.entity.Skill;
+import club.skillswap.skillswapbackend.skill.service.SkillService;
+import club.skillswap.skillswapbackend.user.dto.LeaderboardEntryDto;
+import club.skillswap.skillswapbackend.user.dto.RatingSummaryDto;
+import club.skillswap.skillswapbackend.user.dto.SkillMatchDto;
 import club.skillswap.skillswapbackend.user.dto.UpdateProfileRequestDto;
 import club.skillswap.skillswapbackend.user.dto.UserProfileDto;
 import club.skillswap.skillswapbackend.user.dto.SkillRequestDto;
 import club.skillswap.skillswapbackend.user.entity.UserAccount;
 import club.skillswap.skillswapbackend.user.entity.UserSkill;
+import club.skillswap.skillswapbackend.user.event.UserProfileChangedEvent;
+import club.skillswap.skillswapbackend.user.event.UserSkillsChangedEvent;
+import club.skillswap.skillswapbackend.user.repository.UserProvisioningRepository;
+import club.skillswap.skillswapbackend.user.repository.ReviewRepository;
 import club.skillswap.skillswapbackend.user.repository.UserRepository;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.util.Locale;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class UserService {
 
+    private static final int MAX_PROVISION_ATTEMPTS = 5;
+    private static final int MAX_BASE_USERNAME_LENGTH = 30;
+    private static final int MAX_SKILL_NAME_LENGTH = 100;
+    public static final int DEFAULT_MATCH_LIMIT = 20;
+    public static final int MAX_MATCH_LIMIT = 100;
+    public static final int DEFAULT_LEADERBOARD_SIZE = 10;
+
     private final UserRepository userRepository;
+    private final UserProvisioningRepository provisioningRepository;
+    private final ReviewRepository reviewRepository;
+    private final SkillService skillService;
+    private final SkillMatchIndex skillMatchIndex;
+    private final FacilitatorLeaderboard leaderboard;
+    private final AuditLogger auditLogger;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       UserProvisioningRepository provisioningRepository,
+                       ReviewRepository reviewRepository,
+                       SkillService skillService,
+                       SkillMatchIndex skillMatchIndex,
+                       FacilitatorLeaderboard leaderboard,
+                       AuditLogger auditLogger,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.provisioningRepository = provisioningRepository;
+        this.reviewRepository = reviewRepository;
+        this.skillService = skillService;
+        this.skillMatchIndex = skillMatchIndex;
+        this.leaderboard = leaderboard;
+        this.auditLogger = auditLogger;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -38,6 +87,62 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("UserAccount", "ID", userId));
     }
 
+    /**
+     * 根据用户 ID 获取公开资料 DTO（技能列表一起查出，只需一条 SQL）。
+     */
+    @Transactional(readOnly = true)
+    public UserProfileDto getUserProfile(UUID userId) {
+        return userRepository.findByIdWithSkills(userId)
+                .map(UserProfileDto::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("UserAccount", "ID", userId));
+    }
+
+    /**
+     * 公开资料的 ETag，只查 updated_at，不加载整行和技能列表。
+     * 返回 null 表示这条记录没有更新时间，不支持条件请求。
+     */
+    @Transactional(readOnly = true)
+    public String getProfileEtag(UUID userId) {
+        Optional<Instant> updatedAt = userRepository.findUpdatedAtById(userId);
+        if (updatedAt.isPresent()) {
+            return profileEtag(updatedAt.get());
+        }
+        // 查不到可能是用户不存在，也可能是老数据 updated_at 为空
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("UserAccount", "ID", userId);
+        }
+        return null;
+    }
+
+    /**
+     * 用户作为主持人的评分汇总，按主键查一行。
+     * 只有还没收到过评价时才多查一次用户是否存在。
+     */
+    public RatingSummaryDto getRating(UUID userId) {
+        return reviewRepository.findSummary(userId).orElseGet(() -> {
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("UserAccount", "ID", userId);
+            }
+            return new RatingSummaryDto(userId, null, 0);
+        });
+    }
+
+    /**
+     * 评分最高的主持人，category 为空时是总榜。直接读内存里的排行榜，不访问数据库。
+     */
+    public List<LeaderboardEntryDto> getLeaderboard(String category, int k) {
+        String normalized = category == null || category.isBlank() ? null : category.trim();
+        return leaderboard.top(normalized, Math.max(1, Math.min(k, FacilitatorLeaderboard.MAX_K)));
+    }
+
+    public static String profileEtag(Instant updatedAt) {
+        if (updatedAt == null) {
+            return null;
+        }
+        long micros = updatedAt.getEpochSecond() * 1_000_000 + updatedAt.getNano() / 1_000;
+        return ETags.weak("u-" + micros);
+    }
+
     /**
      * 根据字符串形式的用户 ID 查找用户公开信息。
      * 这个方法主要是为了配合 WorkshopService 的需求。
@@ -61,29 +166,32 @@ public class UserService {
     /**
      * 获取当前认证的用户。
      * 如果这是用户第一次访问，会自动为他们创建一个 UserAccount 资料记录。
+     *
+     * 已有用户只执行一条查询（连同技能一起查），不开额外事务。
+     * 新用户由一条 insert ... on conflict do nothing 创建，用户名也在这条 SQL 里生成；
+     * 只有生成的用户名恰好被别人同时占用时才会重试。
      */
-    @Transactional
     public UserProfileDto findOrCreateCurrentUserProfile(Jwt jwt) {
         UUID userId = UUID.fromString(jwt.getSubject());
-        
-        // 查找或创建实体
-        UserAccount user = userRepository.findById(userId).orElseGet(() -> {
-            // 这部分逻辑只在用户不存在时执行
-            UserAccount newUser = new UserAccount();
-            newUser.setId(userId);
-            String email = jwt.getClaimAsString("email");
-            String baseUsername = email.split("@")[0].replaceAll("[^a-zA-Z0-9]", "_");
-            
-            String finalUsername = baseUsername;
-            while (userRepository.findByUsername(finalUsername).isPresent()) {
-                finalUsername = baseUsername + "_" + RandomStringUtils.randomAlphanumeric(4);
-            }
-            newUser.setUsername(finalUsername);
-            return userRepository.save(newUser);
-        });
 
-        // 在事务结束前，将实体转换为 DTO
-        return UserProfileDto.fromEntity(user);
+        Optional<UserAccount> existing = userRepository.findByIdWithSkills(userId);
+        if (existing.isPresent()) {
+            return UserProfileDto.fromEntity(existing.get());
+        }
+
+        String baseUsername = baseUsername(jwt.getClaimAsString("email"));
+        for (int attempt = 0; attempt < MAX_PROVISION_ATTEMPTS; attempt++) {
+            Optional<UserProfileDto> created = provisioningRepository.insertIfAbsent(userId, baseUsername, attempt > 0);
+            if (created.isPresent()) {
+                return created.get();
+            }
+            // 没插进去：同一个用户的另一个请求先建好了，或者用户名冲突
+            existing = userRepository.findByIdWithSkills(userId);
+            if (existing.isPresent()) {
+                return UserProfileDto.fromEntity(existing.get());
+            }
+        }
+        throw new IllegalStateException("Could not allocate a username for user " + userId);
     }
 
     /**
@@ -94,45 +202,42 @@ public class UserService {
         UUID userId = UUID.fromString(jwt.getSubject());
         
         // 我们使用 findById，而不是 findOrCreate，因为能调用这个方法的用户肯定已经存在了
-        UserAccount userToUpdate = userRepository.findById(userId)
+        // 连同技能一起查出来，后面做差异比较时不会再触发懒加载
+        UserAccount userToUpdate = userRepository.findByIdWithSkills(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserAccount", "ID", userId));
 
         // --- 部分更新逻辑 ---
         // 只有当请求中的字段不为 null 时，才更新对应的实体字段
+        List<String> changed = new ArrayList<>();
         if (updateRequest.getUsername() != null) {
             // 你可能需要在这里添加检查，确保新用户名没有被其他人占用
             userToUpdate.setUsername(updateRequest.getUsername());
+            changed.add("username");
         }
         if (updateRequest.getAvatarUrl() != null) {
             userToUpdate.setAvatarUrl(updateRequest.getAvatarUrl());
+            changed.add("avatarUrl");
         }
         if (updateRequest.getBio() != null) {
             userToUpdate.setBio(updateRequest.getBio());
+            changed.add("bio");
         }
-        if (updateRequest.getSkills() != null) {
-            // 1. 清空用户当前的技能列表
-            //    由于我们设置了 orphanRemoval = true, 这会自动删除数据库中的旧记录
-            userToUpdate.getSkills().clear();
-
-            // 2. 将前端传来的字符串列表转换为 UserSkill 实体列表
-            List<UserSkill> newSkills = updateRequest.getSkills().stream()
-                    .map(skillName -> {
-                        // 对每个技能名称进行标准化和验证
-                        String normalizedSkill = normalizeSkill(skillName);
-                        requireNonBlank(normalizedSkill);
-                        
-                        UserSkill newSkill = new UserSkill();
-                        newSkill.setSkillName(normalizedSkill);
-                        newSkill.setUser(userToUpdate); // 关联回当前用户
-                        return newSkill;
-                    })
-                    .collect(Collectors.toList());
-
-            // 3. 将新的技能列表添加到用户实体中
-            userToUpdate.getSkills().addAll(newSkills);
+        if (updateRequest.getSkills() != null && replaceSkills(userToUpdate, updateRequest.getSkills())) {
+            // 技能在子表里，单独改技能不会让 user_account 变脏，手动刷新 updated_at（ETag 依赖它）
+            userToUpdate.setUpdatedAt(Instant.now());
+            publishSkillsChanged(userToUpdate);
+            changed.add("skills");
         }
 
-        return userRepository.save(userToUpdate);
+        UserAccount saved = userRepository.save(userToUpdate);
+        if (changed.contains("username") || changed.contains("avatarUrl")) {
+            eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
+        }
+        if (!changed.isEmpty()) {
+            auditLogger.record(userId, "PROFILE_UPDATED", "UserAccount", userId.toString(),
+                    Map.of("fields", changed));
+        }
+        return saved;
     }
 
     /**
@@ -142,29 +247,43 @@ public class UserService {
     @Transactional
     public UserAccount addSkillToCurrentUser(Jwt jwt, SkillRequestDto skillRequest) {
         UUID userId = UUID.fromString(jwt.getSubject());
-        UserAccount user = userRepository.findById(userId)
+        UserAccount user = userRepository.findByIdWithSkills(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserAccount", "ID", userId));
 
         // 1. 标准化输入
         String normalizedSkill = normalizeSkill(skillRequest.getSkillName());
 
         // 2. 验证业务规则
-        requireNonBlank(normalizedSkill);
+        requireValidSkill(normalizedSkill);
         
+        String normalizedLevel = normalizeLevel(skillRequest.getSkillLevel());
+
         // 3. 检查技能是否已存在
-        boolean skillExists = user.getSkills().stream()
-                .anyMatch(skill -> skill.getSkillName().equals(normalizedSkill));
+        Optional<UserSkill> existing = user.getSkills().stream()
+                .filter(skill -> skill.getSkillName().equals(normalizedSkill))
+                .findFirst();
 
-        if (skillExists) {
-            return user; // 如果已存在，直接返回，不执行任何操作
+        if (existing.isPresent()) {
+            // 已存在时只在请求带了不同的水平时更新水平，否则不执行任何操作
+            UserSkill skill = existing.get();
+            if (normalizedLevel == null || normalizedLevel.equals(skill.getSkillLevel())) {
+                return user;
+            }
+            skill.setSkillLevel(normalizedLevel);
+        } else {
+            // 4. 创建并添加新技能（技能目录里没有的话顺便建上）
+            UserSkill newSkill = new UserSkill();
+            newSkill.setSkill(skillService.resolve(List.of(normalizedSkill)).get(normalizedSkill));
+            newSkill.setSkillLevel(normalizedLevel);
+            newSkill.setUser(user);
+            user.getSkills().add(newSkill);
         }
 
-        // 4. 创建并添加新技能
-        UserSkill newSkill = new UserSkill();
-        newSkill.setSkillName(normalizedSkill);
-        newSkill.setUser(user);
-
-        user.getSkills().add(newSkill);
+        user.setUpdatedAt(Instant.now()); // 让 ETag 失效
+        publishSkillsChanged(user);
+        auditLogger.record(userId, "SKILL_ADDED", "UserAccount", userId.toString(),
+                normalizedLevel == null ? Map.of("skill", normalizedSkill)
+                        : Map.of("skill", normalizedSkill, "level", normalizedLevel));
 
         // 5. 保存父实体，JPA 的 cascade 会自动保存新技能
         return userRepository.save(user);
@@ -176,7 +295,7 @@ public class UserService {
     @Transactional
     public boolean removeSkillFromCurrentUserByName(Jwt jwt, String skillName) {
         UUID userId = UUID.fromString(jwt.getSubject());
-        UserAccount user = userRepository.findById(userId)
+        UserAccount user = userRepository.findByIdWithSkills(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserAccount", "ID", userId));
         
         String normalizedSkill = normalizeSkill(skillName);
@@ -184,28 +303,128 @@ public class UserService {
         boolean removed = user.getSkills().removeIf(skill -> skill.getSkillName().equals(normalizedSkill));
 
         if (removed) {
+            user.setUpdatedAt(Instant.now()); // 让 ETag 失效
             userRepository.save(user); // 只有在真的移除了技能时才保存
+            publishSkillsChanged(user);
+            auditLogger.record(userId, "SKILL_REMOVED", "UserAccount", userId.toString(),
+                    Map.of("skill", normalizedSkill));
         }
 
         return removed;
     }
 
+    /**
+     * 按共同技能推荐其他用户，分数高的在前。
+     * 打分完全在内存索引里完成，之后只用一条查询补上用户名和头像。
+     */
+    public List<SkillMatchDto> findMatches(Jwt jwt, int limit) {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        int clamped = Math.max(1, Math.min(limit, MAX_MATCH_LIMIT));
+        List<SkillMatchIndex.Match> matches = skillMatchIndex.findMatches(userId, clamped);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, UserRepository.UserCard> users = new HashMap<>();
+        for (UserRepository.UserCard user : userRepository.findCardsByIdIn(
+                matches.stream().map(SkillMatchIndex.Match::userId).toList())) {
+            users.put(user.getId(), user);
+        }
+        // 索引和数据库之间短暂不一致时（例如用户刚被删除），跳过查不到的用户
+        return matches.stream()
+                .map(match -> {
+                    UserRepository.UserCard user = users.get(match.userId());
+                    return user == null ? null : new SkillMatchDto(
+                            match.userId(), user.getUsername(), user.getAvatarUrl(),
+                            match.score(), match.sharedSkills());
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     // ============== 私有辅助方法 (验证与标准化) ==============
 
+    /**
+     * 把变化后的完整技能列表发给匹配索引，事务提交后才会生效。
+     */
+    private void publishSkillsChanged(UserAccount user) {
+        List<UserSkillsChangedEvent.SkillEntry> skills = user.getSkills().stream()
+                .map(skill -> new UserSkillsChangedEvent.SkillEntry(
+                        skill.getSkill().getId(), skill.getSkillName(), skill.getSkillLevel()))
+                .toList();
+        eventPublisher.publishEvent(new UserSkillsChangedEvent(user.getId(), skills));
+    }
+
+    /**
+     * 用请求里的技能列表替换用户当前的技能，只删掉去掉的、只插入新加的，没变的行不动。
+     * 删除靠 orphanRemoval，插入靠 cascade，提交时由 Hibernate 按表批量发出。
+     * 新加的技能名先一次性解析成技能目录里的 ID（一条 SQL），没有新加时不访问目录。
+     * 返回技能是否有变化。
+     */
+    private boolean replaceSkills(UserAccount user, List<String> requestedSkills) {
+        Set<String> desired = new LinkedHashSet<>();
+        for (String skillName : requestedSkills) {
+            // 对每个技能名称进行标准化和验证
+            String normalizedSkill = normalizeSkill(skillName);
+            requireValidSkill(normalizedSkill);
+            desired.add(normalizedSkill);
+        }
+
+        Set<String> current = new HashSet<>();
+        boolean removed = user.getSkills().removeIf(skill -> {
+            // 重复的旧记录也一并清掉
+            boolean keep = desired.contains(skill.getSkillName()) && current.add(skill.getSkillName());
+            return !keep;
+        });
+
+        List<String> toAdd = desired.stream().filter(name -> !current.contains(name)).toList();
+        if (!toAdd.isEmpty()) {
+            Map<String, Skill> resolved = skillService.resolve(toAdd);
+            for (String skillName : toAdd) {
+                UserSkill newSkill = new UserSkill();
+                newSkill.setSkill(resolved.get(skillName));
+                newSkill.setUser(user); // 关联回当前用户
+                user.getSkills().add(newSkill);
+            }
+        }
+        return removed || !toAdd.isEmpty();
+    }
+
     /**
      * 统一技能的大小写和空格，避免 "React" 和 " react " 被视为不同技能。
      */
-    private String normalizeSkill(String skill) {
+    static String normalizeSkill(String skill) {
         return skill == null ? null : skill.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
-     * 验证技能字符串不能为空。
+     * 技能水平同样统一成小写，空字符串视为未填写。
+     */
+    private String normalizeLevel(String level) {
+        return level == null || level.isBlank() ? null : level.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 用邮箱 @ 前面的部分作为用户名基础，非字母数字替换为下划线。
+     * 手机号登录等没有邮箱的情况统一用 "user"。
      */
-    private void requireNonBlank(String skill) {
+    private String baseUsername(String email) {
+        String local = email == null ? "" : email.split("@")[0].replaceAll("[^a-zA-Z0-9]", "_");
+        if (local.isBlank()) {
+            return "user";
+        }
+        return local.length() > MAX_BASE_USERNAME_LENGTH ? local.substring(0, MAX_BASE_USERNAME_LENGTH) : local;
+    }
+
+    /**
+     * 验证技能字符串不能为空，长度不超过技能目录的列宽。
+     */
+    private void requireValidSkill(String skill) {
         if (skill == null || skill.isBlank()) {
             // 建议创建一个通用的业务异常，或者使用 IllegalArgumentException
             throw new DomainException("Skill name must not be blank.");
         }
+        if (skill.length() > MAX_SKILL_NAME_LENGTH) {
+            throw new DomainException("Skill name must be at most " + MAX_SKILL_NAME_LENGTH + " characters.");
+        }
     }
 }
\ No newline at end of file
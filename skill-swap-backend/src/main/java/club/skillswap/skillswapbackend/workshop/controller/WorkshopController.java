@@ -1,16 +1,36 @@
 package club.skillswap.skillswapbackend.workshop.controller;
 
 import club.skillswap.skillswapbackend.common.dto.ApiMessageDto;
+import club.skillswap.skillswapbackend.common.web.ETags;
+import club.skillswap.skillswapbackend.workshop.dto.ParticipationDto;
+import club.skillswap.skillswapbackend.workshop.dto.ReviewDto;
+import club.skillswap.skillswapbackend.workshop.dto.ReviewRequestDto;
 import club.skillswap.skillswapbackend.workshop.dto.WorkshopCreateRequestDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopCursor;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopPageDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopQuery;
 import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.service.WorkshopExportService;
+import club.skillswap.skillswapbackend.workshop.service.WorkshopParticipationService;
+import club.skillswap.skillswapbackend.workshop.service.WorkshopReviewService;
+import club.skillswap.skillswapbackend.workshop.service.WorkshopRevisions;
 import club.skillswap.skillswapbackend.workshop.service.WorkshopService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/workshops")
@@ -18,6 +38,9 @@ import java.util.List;
 public class WorkshopController {
 
     private final WorkshopService workshopService;
+    private final WorkshopParticipationService participationService;
+    private final WorkshopReviewService reviewService;
+    private final WorkshopExportService exportService;
 
     @PostMapping
     public ResponseEntity<WorkshopResponseDto> createWorkshop(
@@ -29,16 +52,82 @@ public class WorkshopController {
         return new ResponseEntity<>(createdWorkshop, HttpStatus.CREATED);
     }
 
+    /**
+     * 带 If-None-Match 且版本没变时直接返回 304，不构建也不序列化 DTO。
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<WorkshopResponseDto> getWorkshopById(@PathVariable Long id) {
+    public ResponseEntity<WorkshopResponseDto> getWorkshopById(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = workshopService.getWorkshopEtag(id);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
         WorkshopResponseDto workshop = workshopService.getWorkshopById(id);
-        return ResponseEntity.ok(workshop);
+        return ResponseEntity.ok()
+                .eTag(WorkshopRevisions.etag(workshop))
+                .cacheControl(CacheControl.noCache())
+                .body(workshop);
     }
     
+    /**
+     * 分页获取 Workshop 列表，支持按分类、难度、线上/线下、状态、日期范围和 tag 筛选。
+     * 第一页不传 cursor，之后把上一页返回的 nextCursor 原样传回即可。
+     */
     @GetMapping
-    public ResponseEntity<List<WorkshopResponseDto>> getAllWorkshops() {
-        List<WorkshopResponseDto> workshops = workshopService.getAllWorkshops();
-        return ResponseEntity.ok(workshops);
+    public ResponseEntity<WorkshopPageDto> getWorkshops(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String skillLevel,
+            @RequestParam(required = false) Boolean isOnline,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "tag", required = false) Set<String> tags,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + WorkshopQuery.DEFAULT_LIMIT) int limit,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        WorkshopQuery query = new WorkshopQuery(
+                category, skillLevel, isOnline, status, from, to, tags, WorkshopCursor.decode(cursor), limit);
+        if (ifNoneMatch != null) {
+            String etag = workshopService.getWorkshopsEtag(query);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+        WorkshopPageDto page = workshopService.getWorkshops(query);
+        return ResponseEntity.ok()
+                .eTag(WorkshopRevisions.etag(page))
+                .cacheControl(CacheControl.noCache())
+                .body(page);
+    }
+
+    /**
+     * 按标题、描述、tag 和分类做全文搜索，结果按相关度排序。
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<WorkshopResponseDto>> searchWorkshops(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + WorkshopQuery.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(workshopService.searchWorkshops(q, limit));
+    }
+
+    /**
+     * 全量导出（NDJSON），仅限 ADMIN / PARTNER。请求头带 Accept-Encoding: gzip 时压缩输出。
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportWorkshops(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noStore())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(exportService.export(gzip));
     }
 
     @DeleteMapping("/{id}")
@@ -46,4 +135,35 @@ public class WorkshopController {
         workshopService.deleteWorkshop(id, authentication);
         return ResponseEntity.ok(new ApiMessageDto("delete success"));
     }
+
+    /**
+     * 当前用户报名。满员或已不可报名返回 409；重复报名不报错，直接返回当前状态。
+     */
+    @PostMapping("/{id}/participants")
+    public ResponseEntity<ParticipationDto> joinWorkshop(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(participationService.join(id, authentication.getName()));
+    }
+
+    @DeleteMapping("/{id}/participants")
+    public ResponseEntity<ParticipationDto> cancelParticipation(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(participationService.cancel(id, authentication.getName()));
+    }
+
+    /**
+     * 参与者评价 Workshop（即评价主持人），同时更新主持人的评分汇总。
+     */
+    @PostMapping("/{id}/reviews")
+    public ResponseEntity<ReviewDto> submitReview(@PathVariable Long id,
+                                                  @Valid @RequestBody ReviewRequestDto request,
+                                                  Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(reviewService.submit(id, authentication.getName(), request));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
 }
\ No newline at end of file
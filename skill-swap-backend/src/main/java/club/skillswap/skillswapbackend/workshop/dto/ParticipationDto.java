@@ -0,0 +1,13 @@
+package club.skillswap.skillswapbackend.workshop.dto;
+
+/**
+ * 报名/取消报名的结果。status 为 "joined"、"waitlisted" 或 "cancelled"。
+ * waitlistPosition 只在 waitlisted 时有值，表示排在候补队列第几位（从 1 开始）。
+ */
+public record ParticipationDto(
+        String workshopId,
+        String status,
+        int participantCount,
+        int maxParticipants,
+        Integer waitlistPosition
+) {}
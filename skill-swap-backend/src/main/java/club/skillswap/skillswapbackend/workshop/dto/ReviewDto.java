@@ -0,0 +1,15 @@
+package club.skillswap.skillswapbackend.workshop.dto;
+
+import club.skillswap.skillswapbackend.user.dto.RatingSummaryDto;
+
+import java.math.BigDecimal;
+
+/**
+ * 评价提交结果，带上主持人更新后的评分汇总。
+ */
+public record ReviewDto(
+        String workshopId,
+        BigDecimal rating,
+        String comment,
+        RatingSummaryDto hostRating
+) {}
@@ -0,0 +1,16 @@
+package club.skillswap.skillswapbackend.workshop.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * 提交评价。rating 取 1.0 ~ 5.0，步长 0.5。
+ */
+public record ReviewRequestDto(
+        @NotNull @DecimalMin("1.0") @DecimalMax("5.0") BigDecimal rating,
+        @Size(max = 255) String comment
+) {}
@@ -0,0 +1,43 @@
+package club.skillswap.skillswapbackend.workshop.dto;
+
+import club.skillswap.skillswapbackend.common.exception.DomainException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Workshop 列表的分页游标，对应排序键 (date, time, id)。
+ * 对外只暴露 encode() 之后的不透明字符串，客户端原样传回即可。
+ */
+public record WorkshopCursor(LocalDate date, LocalTime time, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String raw = date + "|" + time + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析客户端传回的游标；为空时返回 null（表示第一页）。
+     */
+    public static WorkshopCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new DomainException("Invalid cursor.");
+            }
+            return new WorkshopCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DomainException("Invalid cursor.", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package club.skillswap.skillswapbackend.workshop.dto;
+
+import java.util.List;
+
+/**
+ * 一页 Workshop 列表。nextCursor 为 null 表示已经是最后一页。
+ */
+public record WorkshopPageDto(
+    List<WorkshopResponseDto> items,
+    String nextCursor
+) {}
@@ -0,0 +1,42 @@
+package club.skillswap.skillswapbackend.workshop.dto;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Workshop 列表查询条件：筛选字段 + 游标 + 每页条数。
+ * 所有筛选字段都是可选的，null 表示不过滤。
+ */
+public record WorkshopQuery(
+    String category,
+    String skillLevel,
+    Boolean isOnline,
+    String status,
+    LocalDate dateFrom,
+    LocalDate dateTo,
+    Set<String> tags,
+    WorkshopCursor after,
+    int limit
+) {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public WorkshopQuery {
+        category = blankToNull(category);
+        skillLevel = blankToNull(skillLevel);
+        status = blankToNull(status);
+        tags = tags == null ? Set.of() : tags.stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(String::trim)
+                .collect(Collectors.toUnmodifiableSet());
+        if (limit <= 0) {
+            limit = DEFAULT_LIMIT;
+        }
+        limit = Math.min(limit, MAX_LIMIT);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
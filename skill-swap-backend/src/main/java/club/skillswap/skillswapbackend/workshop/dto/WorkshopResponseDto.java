@@ -1,5 +1,7 @@
 package club.skillswap.skillswapbackend.workshop.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -19,5 +21,7 @@ public record WorkshopResponseDto(
     int maxParticipants,
     int creditReward,
     FacilitatorDto facilitator,
-    LocalDateTime createdAt
+    LocalDateTime createdAt,
+    // 用来生成 ETag 的版本标识（Workshop version + 主持人资料更新时间），不出现在 JSON 里
+    @JsonIgnore String revision
 ) {}
\ No newline at end of file
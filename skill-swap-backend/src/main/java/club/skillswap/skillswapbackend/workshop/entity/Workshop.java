@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -14,14 +15,25 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "workshops")
+@Table(name = "workshops", indexes = {
+    // 列表分页的排序键，keyset 条件直接走这个索引
+    @Index(name = "idx_workshops_date_time_id", columnList = "date, time, id"),
+    @Index(name = "idx_workshops_category_date_time_id", columnList = "category, date, time, id"),
+    @Index(name = "idx_workshops_skill_level_date_time_id", columnList = "skill_level, date, time, id"),
+    @Index(name = "idx_workshops_status_date_time_id", columnList = "status, date, time, id"),
+    // 状态推进的批量 UPDATE 按状态 + 开始/结束时间取到期的行
+    @Index(name = "idx_workshops_status_starts_at", columnList = "status, starts_at"),
+    @Index(name = "idx_workshops_status_ends_at", columnList = "status, ends_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 public class Workshop {
 
+    // 用序列一次预取 50 个 ID（库里的序列步长也必须是 50），不必每次插入后再取回自增 ID
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workshops_id_seq")
+    @SequenceGenerator(name = "workshops_id_seq", sequenceName = "workshops_id_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -33,11 +45,23 @@ public class Workshop {
 
     private int duration;
 
+    // upcoming → ongoing → completed，由 WorkshopStatusScheduler 按 startsAt/endsAt 推进
     private String status = "upcoming"; // 默认状态
 
+    // date/time 是列表分页的排序键，不允许为空
+    @Column(nullable = false)
     private LocalDate date;
+
+    @Column(nullable = false)
     private LocalTime time;
 
+    // date + time 和再加 duration 分钟，保存时计算，只给状态推进用（时区见 app.workshops.time-zone）
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
     @Column(name = "is_online")
     private boolean isOnline;
 
@@ -51,9 +75,20 @@ public class Workshop {
     @Column(name = "max_participants")
     private int maxParticipants;
 
+    // 已报名人数的冗余计数，只由 WorkshopParticipantRepository 的条件更新维护，实体更新时不写这一列
+    @ColumnDefault("0")
+    @Column(name = "participant_count", nullable = false, updatable = false)
+    private int participantCount;
+
     @Column(name = "credit_reward")
     private int creditReward;
 
+    // 乐观锁版本号，每次更新 +1，同时用来生成 ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -63,7 +98,8 @@ public class Workshop {
     private UserAccount facilitator; // 与用户实体的多对一关系
 
     @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name = "workshop_tags", joinColumns = @JoinColumn(name = "workshop_id"))
+    @CollectionTable(name = "workshop_tags", joinColumns = @JoinColumn(name = "workshop_id"),
+            indexes = @Index(name = "idx_workshop_tags_tag", columnList = "tag, workshop_id"))
     @Column(name = "tag")
     @org.hibernate.annotations.Fetch(org.hibernate.annotations.FetchMode.SUBSELECT)
     private Set<String> tags;
@@ -80,4 +116,10 @@ public class Workshop {
     @org.hibernate.annotations.Fetch(org.hibernate.annotations.FetchMode.SUBSELECT)
     private Set<String> requirements;
 
+    @PrePersist
+    @PreUpdate
+    void computeSchedule() {
+        startsAt = LocalDateTime.of(date, time);
+        endsAt = startsAt.plusMinutes(duration);
+    }
 }
\ No newline at end of file
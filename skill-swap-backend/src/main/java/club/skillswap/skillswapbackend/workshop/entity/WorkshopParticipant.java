@@ -8,7 +8,11 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "workshop_participants")
+@Table(name = "workshop_participants",
+    // 同一用户对同一 Workshop 只能有一条报名记录，重复报名靠 on conflict 变成幂等
+    uniqueConstraints = @UniqueConstraint(name = "uk_workshop_participants_workshop_user",
+            columnNames = {"workshop_id", "user_id"}),
+    indexes = @Index(name = "idx_workshop_participants_user", columnList = "user_id"))
 @Getter
 @Setter
 public class WorkshopParticipant {
@@ -0,0 +1,37 @@
+package club.skillswap.skillswapbackend.workshop.entity;
+
+import club.skillswap.skillswapbackend.user.entity.UserAccount;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 候补队列中的一条记录。同一 Workshop 内按 id 先进先出。
+ * 读写都走 WorkshopWaitlistRepository 的 SQL，这里的映射主要用于建表。
+ */
+@Entity
+@Table(name = "workshop_waitlist",
+    uniqueConstraints = @UniqueConstraint(name = "uk_workshop_waitlist_workshop_user",
+            columnNames = {"workshop_id", "user_id"}),
+    indexes = @Index(name = "idx_workshop_waitlist_workshop_id", columnList = "workshop_id, id"))
+@Getter
+@Setter
+public class WorkshopWaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "workshop_id", nullable = false)
+    private Workshop workshop;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserAccount user;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
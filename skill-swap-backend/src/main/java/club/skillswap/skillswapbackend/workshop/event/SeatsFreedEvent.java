@@ -0,0 +1,6 @@
+package club.skillswap.skillswapbackend.workshop.event;
+
+/**
+ * 有人取消报名、空出名额后发布（监听方在事务提交后处理），用于触发候补递补。
+ */
+public record SeatsFreedEvent(Long workshopId) {}
@@ -0,0 +1,14 @@
+package club.skillswap.skillswapbackend.workshop.event;
+
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+
+import java.util.Set;
+
+/**
+ * Workshop 创建成功后发布（监听方在事务提交后处理）。
+ * tags 不在 WorkshopResponseDto 里，单独带上，方便缓存判断列表筛选条件。
+ */
+public record WorkshopCreatedEvent(
+    WorkshopResponseDto workshop,
+    Set<String> tags
+) {}
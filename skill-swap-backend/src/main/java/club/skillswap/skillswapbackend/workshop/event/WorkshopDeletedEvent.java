@@ -0,0 +1,6 @@
+package club.skillswap.skillswapbackend.workshop.event;
+
+/**
+ * Workshop 删除成功后发布（监听方在事务提交后处理）。
+ */
+public record WorkshopDeletedEvent(Long workshopId) {}
@@ -0,0 +1,11 @@
+package club.skillswap.skillswapbackend.workshop.event;
+
+import java.util.List;
+
+/**
+ * 定时任务批量推进了一批 Workshop 的状态后发布（监听方在事务提交后处理）。
+ */
+public record WorkshopStatusChangedEvent(
+    List<Long> workshopIds,
+    String status
+) {}
@@ -0,0 +1,98 @@
+package club.skillswap.skillswapbackend.workshop.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 报名的写路径。容量靠 workshops.participant_count 上的一条条件更新保证：
+ * 只有 participant_count < max_participants 时才 +1，不需要先 count 再 insert，也不需要 select ... for update。
+ */
+@Repository
+public class WorkshopParticipantRepository {
+
+    private static final RowMapper<Capacity> CAPACITY_MAPPER = (rs, rowNum) -> new Capacity(
+            rs.getInt("participant_count"), rs.getInt("max_participants"), rs.getString("status"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public WorkshopParticipantRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 插入报名记录。Workshop 或用户不存在、或者已经报过名时都返回 false，由调用方区分原因。
+     */
+    public boolean insertIfAbsent(long workshopId, UUID userId) {
+        int rows = jdbc.update("""
+                insert into workshop_participants (workshop_id, user_id, registration_date)
+                select w.id, u.id, now()
+                from workshops w, user_account u
+                where w.id = :workshopId and u.id = :userId
+                on conflict (workshop_id, user_id) do nothing
+                """, params(workshopId, userId));
+        return rows == 1;
+    }
+
+    public boolean delete(long workshopId, UUID userId) {
+        int rows = jdbc.update("""
+                delete from workshop_participants
+                where workshop_id = :workshopId and user_id = :userId
+                """, params(workshopId, userId));
+        return rows == 1;
+    }
+
+    public boolean exists(long workshopId, UUID userId) {
+        List<Integer> rows = jdbc.queryForList("""
+                select 1 from workshop_participants
+                where workshop_id = :workshopId and user_id = :userId
+                """, params(workshopId, userId), Integer.class);
+        return !rows.isEmpty();
+    }
+
+    /**
+     * 占一个名额。满员、不可报名、或者候补队列里还有人排着时不更新任何行，返回 empty。
+     * 有人排队时空出来的名额留给候补递补，直接报名不能插队。
+     * 这条 update 会持有 Workshop 行锁直到事务结束，所以调用方应把它放在事务的最后一步。
+     */
+    public Optional<Capacity> tryIncrement(long workshopId) {
+        List<Capacity> rows = jdbc.query("""
+                update workshops set participant_count = participant_count + 1
+                where id = :workshopId
+                  and status = 'upcoming'
+                  and participant_count < max_participants
+                  and not exists (select 1 from workshop_waitlist q where q.workshop_id = workshops.id)
+                returning participant_count, max_participants, status
+                """, new MapSqlParameterSource("workshopId", workshopId), CAPACITY_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    public Optional<Capacity> decrement(long workshopId) {
+        List<Capacity> rows = jdbc.query("""
+                update workshops set participant_count = participant_count - 1
+                where id = :workshopId and participant_count > 0
+                returning participant_count, max_participants, status
+                """, new MapSqlParameterSource("workshopId", workshopId), CAPACITY_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    public Optional<Capacity> findCapacity(long workshopId) {
+        List<Capacity> rows = jdbc.query("""
+                select participant_count, max_participants, status from workshops where id = :workshopId
+                """, new MapSqlParameterSource("workshopId", workshopId), CAPACITY_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    private static MapSqlParameterSource params(long workshopId, UUID userId) {
+        return new MapSqlParameterSource()
+                .addValue("workshopId", workshopId)
+                .addValue("userId", userId);
+    }
+
+    public record Capacity(int participantCount, int maxParticipants, String status) {}
+}
@@ -0,0 +1,241 @@
+package club.skillswap.skillswapbackend.workshop.repository;
+
+import club.skillswap.skillswapbackend.workshop.dto.FacilitatorDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopCursor;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopQuery;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Workshop 的只读查询路径：一条 SQL 直接查出 WorkshopResponseDto 需要的所有列，
+ * 集合字段用 array(...) 在数据库里聚合好，不经过 Hibernate 实体，也不进持久化上下文。
+ * 写操作仍然走 WorkshopRepository。
+ */
+@Repository
+public class WorkshopReadRepository {
+
+    // 主持人改名/换头像也要让 ETag 变化，所以版本标识里带上 user_account.updated_at
+    private static final String REVISION = """
+            w.version || '.' || coalesce(floor(extract(epoch from u.updated_at) * 1000000)::bigint, 0)""";
+
+    private static final String SELECT_DTO = """
+            select w.id, w.title, w.description, w.category, w.skill_level, w.status,
+                   w.date, w.time, w.is_online, w.max_participants, w.credit_reward, w.created_at,
+                   u.id as facilitator_id, u.username as facilitator_name, u.avatar_url as facilitator_avatar,
+                   array(select l.location from workshop_locations l where l.workshop_id = w.id) as location,
+                   %s as revision
+            from workshops w
+            join user_account u on u.id = w.facilitator_id
+            """.formatted(REVISION);
+
+    // 只查版本标识，用于 If-None-Match 预检，不读整行
+    private static final String SELECT_REVISION = """
+            select 'w_' || w.id || '@' || %s as revision
+            from workshops w
+            join user_account u on u.id = w.facilitator_id
+            """.formatted(REVISION);
+
+    // 搜索索引只需要参与分词的文本列
+    private static final String SELECT_SEARCH_DOCUMENT = """
+            select w.id, w.title, w.description, w.category,
+                   array(select t.tag from workshop_tags t where t.workshop_id = w.id) as tags
+            from workshops w
+            where w.id > :afterId
+            order by w.id
+            limit :limit
+            """;
+
+    private static final int SEARCH_BATCH_SIZE = 5000;
+
+    // 导出时每次从服务端游标取多少行，内存里最多同时有这么多行
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final RowMapper<WorkshopResponseDto> DTO_MAPPER = WorkshopReadRepository::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final JdbcTemplate exportJdbc;
+
+    public WorkshopReadRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        // fetch size 只对导出生效，其他查询仍然一次取完
+        this.exportJdbc = new JdbcTemplate(jdbc.getJdbcTemplate().getDataSource());
+        this.exportJdbc.setFetchSize(EXPORT_FETCH_SIZE);
+    }
+
+    public Optional<WorkshopResponseDto> findDtoById(Long id) {
+        List<WorkshopResponseDto> rows = jdbc.query(
+                SELECT_DTO + "where w.id = :id", new MapSqlParameterSource("id", id), DTO_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 按 ID 批量查询，返回顺序与数据库一致（不保证与入参相同），不存在的 ID 直接忽略。
+     */
+    public List<WorkshopResponseDto> findDtosByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.query(SELECT_DTO + "where w.id in (:ids)", new MapSqlParameterSource("ids", ids), DTO_MAPPER);
+    }
+
+    /**
+     * 按 ID 分批遍历全部 Workshop 的可搜索文本，用于构建搜索索引。
+     * 每批一条短查询，不会长时间占用连接。
+     */
+    public void forEachSearchDocument(SearchDocumentConsumer consumer) {
+        long afterId = 0;
+        while (true) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("afterId", afterId)
+                    .addValue("limit", SEARCH_BATCH_SIZE);
+            List<Long> ids = jdbc.query(SELECT_SEARCH_DOCUMENT, params, (rs, rowNum) -> {
+                long id = rs.getLong("id");
+                consumer.accept(id, rs.getString("title"), rs.getString("description"),
+                        rs.getString("category"), toSet(rs.getArray("tags")));
+                return id;
+            });
+            if (ids.size() < SEARCH_BATCH_SIZE) {
+                return;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * 按 ID 顺序逐行读出全部 Workshop。PostgreSQL 驱动只有在事务里（关闭自动提交）且设置了 fetch size 时
+     * 才用服务端游标分批取，所以必须在只读事务里调用，用完关闭 Stream。
+     */
+    public Stream<WorkshopResponseDto> streamAll() {
+        return exportJdbc.queryForStream(SELECT_DTO + "order by w.id", DTO_MAPPER);
+    }
+
+    @FunctionalInterface
+    public interface SearchDocumentConsumer {
+        void accept(long id, String title, String description, String category, Set<String> tags);
+    }
+
+    public Optional<String> findRevisionById(Long id) {
+        List<String> rows = jdbc.queryForList(
+                SELECT_REVISION + "where w.id = :id", new MapSqlParameterSource("id", id), String.class);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 与 findPage 条件、排序、条数完全一致，但每行只返回 "w_{id}@{revision}"。
+     */
+    public List<String> findPageRevisions(WorkshopQuery query) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_REVISION + whereClause(query, params)
+                + " order by w.date, w.time, w.id limit :limit";
+        params.addValue("limit", query.limit() + 1);
+        return jdbc.queryForList(sql, params, String.class);
+    }
+
+    /**
+     * 按 (date, time, id) 做 keyset 分页。
+     * 最多返回 query.limit() + 1 条，多出来的那一条用来判断是否还有下一页。
+     */
+    public List<WorkshopResponseDto> findPage(WorkshopQuery query) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_DTO + whereClause(query, params)
+                + " order by w.date, w.time, w.id limit :limit";
+        params.addValue("limit", query.limit() + 1);
+        return jdbc.query(sql, params, DTO_MAPPER);
+    }
+
+    private static String whereClause(WorkshopQuery query, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (query.category() != null) {
+            conditions.add("w.category = :category");
+            params.addValue("category", query.category());
+        }
+        if (query.skillLevel() != null) {
+            conditions.add("w.skill_level = :skillLevel");
+            params.addValue("skillLevel", query.skillLevel());
+        }
+        if (query.isOnline() != null) {
+            conditions.add("w.is_online = :isOnline");
+            params.addValue("isOnline", query.isOnline());
+        }
+        if (query.status() != null) {
+            conditions.add("w.status = :status");
+            params.addValue("status", query.status());
+        }
+        if (query.dateFrom() != null) {
+            conditions.add("w.date >= :dateFrom");
+            params.addValue("dateFrom", query.dateFrom());
+        }
+        if (query.dateTo() != null) {
+            conditions.add("w.date <= :dateTo");
+            params.addValue("dateTo", query.dateTo());
+        }
+        if (!query.tags().isEmpty()) {
+            conditions.add("exists (select 1 from workshop_tags t where t.workshop_id = w.id and t.tag in (:tags))");
+            params.addValue("tags", query.tags());
+        }
+        WorkshopCursor after = query.after();
+        if (after != null) {
+            // 行比较可以直接用上 (date, time, id) 索引
+            conditions.add("(w.date, w.time, w.id) > (:afterDate, :afterTime, :afterId)");
+            params.addValue("afterDate", after.date());
+            params.addValue("afterTime", after.time());
+            params.addValue("afterId", after.id());
+        }
+        return conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions);
+    }
+
+    private static WorkshopResponseDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        FacilitatorDto facilitator = new FacilitatorDto(
+                "u_" + rs.getObject("facilitator_id"),
+                rs.getString("facilitator_name"),
+                rs.getString("facilitator_avatar"));
+
+        return new WorkshopResponseDto(
+                "w_" + rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getString("category"),
+                rs.getString("skill_level"),
+                rs.getString("status"),
+                rs.getObject("date", LocalDate.class),
+                rs.getObject("time", LocalTime.class),
+                rs.getBoolean("is_online"),
+                toSet(rs.getArray("location")),
+                rs.getInt("max_participants"),
+                rs.getInt("credit_reward"),
+                facilitator,
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getString("revision"));
+    }
+
+    private static Set<String> toSet(Array array) throws SQLException {
+        if (array == null) {
+            return Set.of();
+        }
+        try {
+            return new LinkedHashSet<>(Arrays.asList((String[]) array.getArray()));
+        } finally {
+            array.free();
+        }
+    }
+}
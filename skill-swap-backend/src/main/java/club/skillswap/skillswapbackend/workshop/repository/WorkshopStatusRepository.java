@@ -0,0 +1,73 @@
+package club.skillswap.skillswapbackend.workshop.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Workshop 状态推进：upcoming → ongoing → completed。
+ * 每次一条集合 UPDATE，按 (status, starts_at) / (status, ends_at) 索引取到期的行，一批最多 limit 条。
+ * skip locked 让多个实例同时推进时互不等待，也不会重复推进同一行。
+ * 状态出现在 DTO 里，所以同时 version + 1，ETag 跟着变。
+ */
+@Repository
+public class WorkshopStatusRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public WorkshopStatusRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 已经开始、还没结束的 upcoming 改成 ongoing，返回改动的 ID。
+     */
+    public List<Long> startDue(LocalDateTime now, int limit) {
+        return jdbc.queryForList("""
+                update workshops set status = 'ongoing', version = version + 1
+                where id in (select id from workshops
+                             where status = 'upcoming' and starts_at <= :now and ends_at > :now
+                             order by starts_at
+                             limit :limit
+                             for update skip locked)
+                returning id
+                """, params(now, limit), Long.class);
+    }
+
+    /**
+     * 已经结束的 fromStatus（ongoing，或者停机期间整场错过的 upcoming）改成 completed，返回改动的 ID。
+     */
+    public List<Long> completeDue(String fromStatus, LocalDateTime now, int limit) {
+        return jdbc.queryForList("""
+                update workshops set status = 'completed', version = version + 1
+                where id in (select id from workshops
+                             where status = :fromStatus and ends_at <= :now
+                             order by ends_at
+                             limit :limit
+                             for update skip locked)
+                returning id
+                """, params(now, limit).addValue("fromStatus", fromStatus), Long.class);
+    }
+
+    /**
+     * 下一个需要推进的时间点：最早的 upcoming 开始时间和最早的 ongoing 结束时间取较早的一个。
+     * 两个 min 都只读索引的第一条。没有待推进的 Workshop 时为空。
+     */
+    public Optional<LocalDateTime> findNextBoundary() {
+        LocalDateTime next = jdbc.getJdbcTemplate().queryForObject("""
+                select least((select min(starts_at) from workshops where status = 'upcoming'),
+                             (select min(ends_at) from workshops where status = 'ongoing'))
+                """, LocalDateTime.class);
+        return Optional.ofNullable(next);
+    }
+
+    private static MapSqlParameterSource params(LocalDateTime now, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("limit", limit);
+    }
+}
@@ -0,0 +1,122 @@
+package club.skillswap.skillswapbackend.workshop.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * 候补队列的读写。队列顺序就是 workshop_waitlist.id 的顺序。
+ */
+@Repository
+public class WorkshopWaitlistRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public WorkshopWaitlistRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 排到队尾，已经在队列里时什么都不做。返回当前排第几（从 1 开始）。
+     */
+    public int enqueue(long workshopId, UUID userId) {
+        jdbc.update("""
+                insert into workshop_waitlist (workshop_id, user_id, created_at)
+                values (:workshopId, :userId, now())
+                on conflict (workshop_id, user_id) do nothing
+                """, params(workshopId, userId));
+        return position(workshopId, userId).orElseThrow();
+    }
+
+    public boolean delete(long workshopId, UUID userId) {
+        int rows = jdbc.update("""
+                delete from workshop_waitlist
+                where workshop_id = :workshopId and user_id = :userId
+                """, params(workshopId, userId));
+        return rows == 1;
+    }
+
+    public OptionalInt position(long workshopId, UUID userId) {
+        List<Integer> rows = jdbc.queryForList("""
+                select count(*) from workshop_waitlist q
+                where q.workshop_id = :workshopId
+                  and q.id <= (select id from workshop_waitlist
+                               where workshop_id = :workshopId and user_id = :userId)
+                having count(*) > 0
+                """, params(workshopId, userId), Integer.class);
+        return rows.isEmpty() ? OptionalInt.empty() : OptionalInt.of(rows.get(0));
+    }
+
+    /**
+     * 锁住 Workshop 行并返回空余名额；不可报名或不存在时返回 0。
+     * 同一 Workshop 的递补因此串行执行，多个线程/实例同时递补也不会超卖。
+     * 用 for no key update：不改主键，不必挡住其他事务往报名表、候补表插入时对这一行加的外键锁（key share）；
+     * 与直接报名时 update participant_count 的行锁仍然互斥。
+     */
+    public int lockFreeSeats(long workshopId) {
+        List<Integer> rows = jdbc.queryForList("""
+                select greatest(max_participants - participant_count, 0) from workshops
+                where id = :workshopId and status = 'upcoming'
+                for no key update
+                """, new MapSqlParameterSource("workshopId", workshopId), Integer.class);
+        return rows.isEmpty() ? 0 : rows.get(0);
+    }
+
+    /**
+     * 按队列顺序把最多 limit 个候补转为正式报名，并从队列删除，返回新增的报名数。
+     * 已经是正式报名的用户（例如直接报名过）只出队、不重复计数。调用方必须已持有 Workshop 行锁。
+     */
+    public int promote(long workshopId, int limit) {
+        Integer promoted = jdbc.queryForObject("""
+                with next as (
+                    delete from workshop_waitlist
+                    where id in (select id from workshop_waitlist
+                                 where workshop_id = :workshopId
+                                 order by id
+                                 limit :limit
+                                 for update skip locked)
+                    returning workshop_id, user_id, id
+                ), inserted as (
+                    insert into workshop_participants (workshop_id, user_id, registration_date)
+                    select workshop_id, user_id, now() from next order by id
+                    on conflict (workshop_id, user_id) do nothing
+                    returning 1
+                )
+                select count(*) from inserted
+                """, new MapSqlParameterSource()
+                .addValue("workshopId", workshopId)
+                .addValue("limit", limit), Integer.class);
+        if (promoted != null && promoted > 0) {
+            jdbc.update("""
+                    update workshops set participant_count = participant_count + :promoted
+                    where id = :workshopId
+                    """, new MapSqlParameterSource()
+                    .addValue("workshopId", workshopId)
+                    .addValue("promoted", promoted));
+        }
+        return promoted == null ? 0 : promoted;
+    }
+
+    /**
+     * 有候补、又有空位的 Workshop，用于定期兜底（例如进程在事件处理前退出）。
+     */
+    public List<Long> findPromotable(int limit) {
+        return jdbc.queryForList("""
+                select w.id from workshops w
+                where w.status = 'upcoming'
+                  and w.participant_count < w.max_participants
+                  and exists (select 1 from workshop_waitlist q where q.workshop_id = w.id)
+                limit :limit
+                """, new MapSqlParameterSource("limit", limit), Long.class);
+    }
+
+    private static MapSqlParameterSource params(long workshopId, UUID userId) {
+        return new MapSqlParameterSource()
+                .addValue("workshopId", workshopId)
+                .addValue("userId", userId);
+    }
+}
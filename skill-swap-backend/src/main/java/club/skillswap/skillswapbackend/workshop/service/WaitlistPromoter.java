@@ -0,0 +1,79 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.event.SeatsFreedEvent;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopWaitlistRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 候补递补的后台执行者。取消报名的请求只把 Workshop ID 记进待处理集合，
+ * 真正的递补由定时任务分批完成，不占用取消请求的时间。
+ * 集合会合并同一 Workshop 的多次取消；定期扫描兜底处理丢失的事件。
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    private final WaitlistPromotionService promotionService;
+    private final WorkshopWaitlistRepository waitlistRepository;
+    private final int batchSize;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public WaitlistPromoter(WaitlistPromotionService promotionService,
+                            WorkshopWaitlistRepository waitlistRepository,
+                            @Value("${app.waitlist.batch-size:50}") int batchSize) {
+        this.promotionService = promotionService;
+        this.waitlistRepository = waitlistRepository;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener
+    public void onSeatsFreed(SeatsFreedEvent event) {
+        pending.add(event.workshopId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.promote-delay-ms:500}")
+    public void drain() {
+        Iterator<Long> it = pending.iterator();
+        while (it.hasNext()) {
+            Long workshopId = it.next();
+            it.remove();
+            promote(workshopId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.sweep-interval-ms:300000}")
+    public void sweep() {
+        pending.addAll(waitlistRepository.findPromotable(1000));
+    }
+
+    /**
+     * 一批一个事务，直到名额用完或者队列为空。出错时放回待处理集合，下一轮重试。
+     */
+    public int promote(long workshopId) {
+        int total = 0;
+        try {
+            int promoted;
+            while ((promoted = promotionService.promoteBatch(workshopId, batchSize)) > 0) {
+                total += promoted;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Waitlist promotion failed for workshop {}, will retry", workshopId, e);
+            pending.add(workshopId);
+        }
+        if (total > 0) {
+            log.info("Promoted {} waitlisted users for workshop {}", total, workshopId);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,30 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopWaitlistRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 单个 Workshop 的一批递补，一个事务。
+ * 先锁 Workshop 行再出队，所以同一 Workshop 的递补在多线程、多实例下都是串行的，不会超卖也不会乱序。
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistPromotionService {
+
+    private final WorkshopWaitlistRepository waitlistRepository;
+
+    /**
+     * 返回本批递补的人数；返回 0 表示没有空位或者队列已空。
+     */
+    @Transactional
+    public int promoteBatch(long workshopId, int batchSize) {
+        int free = waitlistRepository.lockFreeSeats(workshopId);
+        if (free == 0) {
+            return 0;
+        }
+        return waitlistRepository.promote(workshopId, Math.min(free, batchSize));
+    }
+}
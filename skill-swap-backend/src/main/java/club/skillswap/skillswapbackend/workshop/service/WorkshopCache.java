@@ -0,0 +1,226 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.common.dto.CacheStatsDto;
+import club.skillswap.skillswapbackend.user.event.UserProfileChangedEvent;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopCursor;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopPageDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopQuery;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopCreatedEvent;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopDeletedEvent;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopStatusChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Workshop 公开读接口的进程内缓存：按 ID 缓存详情，按查询条件缓存列表页。
+ * 两个缓存都有容量上限和 TTL；写操作在事务提交后只失效受影响的条目。
+ */
+@Component
+public class WorkshopCache {
+
+    private static final Comparator<WorkshopCursor> KEY_ORDER = Comparator
+            .comparing(WorkshopCursor::date)
+            .thenComparing(WorkshopCursor::time)
+            .thenComparingLong(WorkshopCursor::id);
+
+    private final Cache<Long, WorkshopResponseDto> byId;
+    private final Cache<WorkshopQuery, WorkshopPageDto> pages;
+
+    // 每次失效前 +1。读路径加载完成后如果发现它变了，说明加载期间有写入，刚放进去的值不可信
+    private final AtomicLong generation = new AtomicLong();
+
+    public WorkshopCache(
+            @Value("${app.cache.workshops.max-size:10000}") long maxSize,
+            @Value("${app.cache.workshops.page-max-size:2000}") long pageMaxSize,
+            @Value("${app.cache.workshops.ttl:5m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 命中直接返回；未命中调用 loader 查库。loader 返回 null（不存在）时不缓存。
+     */
+    public WorkshopResponseDto getById(Long id, Function<Long, WorkshopResponseDto> loader) {
+        WorkshopResponseDto cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        WorkshopResponseDto loaded = loader.apply(id);
+        if (loaded != null) {
+            byId.put(id, loaded);
+            if (generation.get() != before) {
+                byId.invalidate(id);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 批量版本：未命中的 ID 交给 loader 一次查完，结果按 ids 的顺序返回，不存在的 ID 跳过。
+     */
+    public List<WorkshopResponseDto> getByIds(List<Long> ids,
+                                              Function<Collection<Long>, List<WorkshopResponseDto>> loader) {
+        Map<Long, WorkshopResponseDto> found = new HashMap<>(byId.getAllPresent(ids));
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            long before = generation.get();
+            Map<Long, WorkshopResponseDto> loaded = new HashMap<>();
+            for (WorkshopResponseDto dto : loader.apply(missing)) {
+                loaded.put(parseId(dto.id()), dto);
+            }
+            byId.putAll(loaded);
+            if (generation.get() != before) {
+                byId.invalidateAll(loaded.keySet());
+            }
+            found.putAll(loaded);
+        }
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    // 只看不计入命中统计，用于 ETag 预检
+    public WorkshopResponseDto peekById(Long id) {
+        return byId.asMap().get(id);
+    }
+
+    public WorkshopPageDto peekPage(WorkshopQuery query) {
+        return pages.asMap().get(query);
+    }
+
+    public WorkshopPageDto getPage(WorkshopQuery query, Function<WorkshopQuery, WorkshopPageDto> loader) {
+        WorkshopPageDto cached = pages.getIfPresent(query);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        WorkshopPageDto loaded = loader.apply(query);
+        pages.put(query, loaded);
+        if (generation.get() != before) {
+            pages.invalidate(query);
+        }
+        return loaded;
+    }
+
+    /**
+     * 新建的 Workshop 只会影响满足筛选条件、并且排序键落在该页范围内的列表页。
+     * 详情缓存不受影响（新 ID 之前不可能被缓存）。
+     */
+    @TransactionalEventListener
+    public void onCreated(WorkshopCreatedEvent event) {
+        generation.incrementAndGet();
+        WorkshopResponseDto created = event.workshop();
+        WorkshopCursor key = new WorkshopCursor(created.date(), created.time(), parseId(created.id()));
+        pages.asMap().entrySet().removeIf(entry ->
+                matches(entry.getKey(), created, event.tags()) && inRange(entry.getKey(), entry.getValue(), key));
+    }
+
+    /**
+     * 删除只影响该 ID 的详情缓存和包含它的列表页。
+     */
+    @TransactionalEventListener
+    public void onDeleted(WorkshopDeletedEvent event) {
+        generation.incrementAndGet();
+        byId.invalidate(event.workshopId());
+        String dtoId = "w_" + event.workshopId();
+        pages.asMap().values().removeIf(page ->
+                page.items().stream().anyMatch(item -> item.id().equals(dtoId)));
+    }
+
+    /**
+     * 状态推进后，这些 ID 的详情和包含它们的列表页都过期了；
+     * 按状态筛选的列表页成员也变了，不好逐页判断，全部失效。
+     */
+    @TransactionalEventListener
+    public void onStatusChanged(WorkshopStatusChangedEvent event) {
+        generation.incrementAndGet();
+        byId.invalidateAll(event.workshopIds());
+        Set<String> dtoIds = new HashSet<>();
+        event.workshopIds().forEach(id -> dtoIds.add("w_" + id));
+        pages.asMap().entrySet().removeIf(entry -> entry.getKey().status() != null
+                || entry.getValue().items().stream().anyMatch(item -> dtoIds.contains(item.id())));
+    }
+
+    /**
+     * 主持人改了用户名或头像：详情和列表页里都带着旧的主持人信息，
+     * 失效该主持人的所有详情和包含其 Workshop 的列表页（缓存的 DTO 也决定 ETag，不失效会一直返回旧版本号）。
+     */
+    @TransactionalEventListener
+    public void onFacilitatorChanged(UserProfileChangedEvent event) {
+        generation.incrementAndGet();
+        String facilitatorId = "u_" + event.userId();
+        byId.asMap().values().removeIf(workshop -> workshop.facilitator().id().equals(facilitatorId));
+        pages.asMap().values().removeIf(page ->
+                page.items().stream().anyMatch(item -> item.facilitator().id().equals(facilitatorId)));
+    }
+
+    public List<CacheStatsDto> stats() {
+        return List.of(
+                CacheStatsDto.of("workshops.byId", byId),
+                CacheStatsDto.of("workshops.pages", pages));
+    }
+
+    private static boolean matches(WorkshopQuery query, WorkshopResponseDto w, Set<String> tags) {
+        if (query.category() != null && !query.category().equals(w.category())) {
+            return false;
+        }
+        if (query.skillLevel() != null && !query.skillLevel().equals(w.skillLevel())) {
+            return false;
+        }
+        if (query.isOnline() != null && query.isOnline() != w.isOnline()) {
+            return false;
+        }
+        if (query.status() != null && !query.status().equals(w.status())) {
+            return false;
+        }
+        if (query.dateFrom() != null && w.date().isBefore(query.dateFrom())) {
+            return false;
+        }
+        if (query.dateTo() != null && w.date().isAfter(query.dateTo())) {
+            return false;
+        }
+        if (!query.tags().isEmpty()) {
+            return tags != null && tags.stream().anyMatch(query.tags()::contains);
+        }
+        return true;
+    }
+
+    // 页的范围是 (after, 最后一条]；最后一页没有上界
+    private static boolean inRange(WorkshopQuery query, WorkshopPageDto page, WorkshopCursor key) {
+        if (query.after() != null && KEY_ORDER.compare(key, query.after()) <= 0) {
+            return false;
+        }
+        if (page.nextCursor() == null) {
+            return true;
+        }
+        return KEY_ORDER.compare(key, WorkshopCursor.decode(page.nextCursor())) <= 0;
+    }
+
+    private static long parseId(String dtoId) {
+        return Long.parseLong(dtoId.substring(2));
+    }
+}
@@ -0,0 +1,133 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopReadRepository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 全量导出 Workshop，格式是 NDJSON（每行一个 WorkshopResponseDto）。
+ * 数据从服务端游标逐批读出、逐行写进响应，内存占用和总条数无关。
+ *
+ * 导出期间一直占着一个数据库连接（配置了副本时是副本连接），所以同时进行的导出数有上限，超出返回 429。
+ */
+@Service
+public class WorkshopExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkshopExportService.class);
+
+    private final WorkshopReadRepository workshopReadRepository;
+    private final ObjectMapper objectMapper;
+    // 不要每写一行就 flush 一次，交给输出缓冲区攒满再发
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate readOnlyTx;
+    private final Semaphore running;
+
+    public WorkshopExportService(WorkshopReadRepository workshopReadRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.export.max-concurrent:1}") int maxConcurrent) {
+        this.workshopReadRepository = workshopReadRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(WorkshopResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.running = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * 先占一个导出名额（占不到直接抛 429），返回的响应体在 MVC 的异步线程里执行，写完或出错后归还名额。
+     * 响应体不一定会执行（比如异步处理超时、还没开始写客户端就断开了），所以异步请求结束时也归还一次，只生效一次。
+     */
+    public StreamingResponseBody export(boolean gzip) {
+        if (!running.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Another export is in progress");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                running.release();
+            }
+        };
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(WorkshopExportService.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        release.run();
+                    }
+                });
+        return out -> {
+            try {
+                write(gzip ? new GZIPOutputStream(out, 64 * 1024) : out);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private void write(OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long[] rows = {0};
+        // 不用 try-with-resources：关闭 generator 会连带 finish gzip、关闭响应流，容器随即写出结束块，
+        // 出错时客户端就会收到一个格式完整、只是少了若干行的 200。只有全部写完才关闭
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // 行与行之间只要换行，不要 Jackson 默认的空格分隔
+        generator.setRootValueSeparator(null);
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<WorkshopResponseDto> workshops = workshopReadRepository.streamAll()) {
+                    workshops.forEach(workshop -> {
+                        try {
+                            rowWriter.writeValue(generator, workshop);
+                            generator.writeRaw('\n');
+                            rows[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 多半是客户端断开了，连接已经不可用，记一笔就结束
+            log.info("Workshop export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            return;
+        } catch (DataAccessException e) {
+            // 读库中途失败（连接断开、语句超时等）。状态码和前面的行已经发出去，没法再改成错误响应；
+            // 响应流保持不关、异常继续往外抛，由容器直接断开连接，客户端看到的是传输中断而不是正常结束
+            log.error("Workshop export failed after {} rows", rows[0], e);
+            throw e;
+        }
+        generator.close();
+        log.info("Exported {} workshops in {} ms", rows[0], (System.nanoTime() - started) / 1_000_000);
+    }
+}
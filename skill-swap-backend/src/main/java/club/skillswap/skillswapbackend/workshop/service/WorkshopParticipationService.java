@@ -0,0 +1,11 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.ParticipationDto;
+
+public interface WorkshopParticipationService {
+
+    // 重复报名是幂等的，直接返回当前状态
+    ParticipationDto join(Long workshopId, String userId);
+
+    ParticipationDto cancel(Long workshopId, String userId);
+}
@@ -0,0 +1,100 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.common.exception.DomainException;
+import club.skillswap.skillswapbackend.common.exception.ResourceNotFoundException;
+import club.skillswap.skillswapbackend.workshop.dto.ParticipationDto;
+import club.skillswap.skillswapbackend.workshop.event.SeatsFreedEvent;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopParticipantRepository;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopParticipantRepository.Capacity;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopWaitlistRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class WorkshopParticipationServiceImpl implements WorkshopParticipationService {
+
+    private static final String JOINED = "joined";
+    private static final String WAITLISTED = "waitlisted";
+    private static final String CANCELLED = "cancelled";
+
+    private final WorkshopParticipantRepository participantRepository;
+    private final WorkshopWaitlistRepository waitlistRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 先插报名记录，再对 Workshop 行做条件 +1。
+     * 计数更新放在最后，热门 Workshop 的行锁只在提交前的一小段时间里持有。
+     * 没抢到名额时撤掉刚插入的报名记录，排进候补队列。
+     */
+    @Override
+    @Transactional
+    public ParticipationDto join(Long workshopId, String userId) {
+        UUID userUuid = parseUserId(userId);
+
+        if (!participantRepository.insertIfAbsent(workshopId, userUuid)) {
+            // 没插进去：要么已经报过名，要么 Workshop / 用户不存在
+            Capacity capacity = participantRepository.findCapacity(workshopId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Workshop not found with ID: " + workshopId));
+            if (participantRepository.exists(workshopId, userUuid)) {
+                return toDto(workshopId, JOINED, capacity, null);
+            }
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
+
+        var joined = participantRepository.tryIncrement(workshopId);
+        if (joined.isPresent()) {
+            return toDto(workshopId, JOINED, joined.get(), null);
+        }
+
+        participantRepository.delete(workshopId, userUuid);
+        Capacity capacity = participantRepository.findCapacity(workshopId)
+                .orElseThrow(() -> new ResourceNotFoundException("Workshop not found with ID: " + workshopId));
+        if (!"upcoming".equals(capacity.status())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Workshop is not open for registration.");
+        }
+        int position = waitlistRepository.enqueue(workshopId, userUuid);
+        return toDto(workshopId, WAITLISTED, capacity, position);
+    }
+
+    /**
+     * 取消正式报名或候补。取消正式报名只释放名额，候补递补在事务提交后由 WaitlistPromoter 异步完成。
+     */
+    @Override
+    @Transactional
+    public ParticipationDto cancel(Long workshopId, String userId) {
+        UUID userUuid = parseUserId(userId);
+
+        if (participantRepository.delete(workshopId, userUuid)) {
+            Capacity capacity = participantRepository.decrement(workshopId)
+                    .orElseThrow(() -> new IllegalStateException("Participant counter out of sync for workshop " + workshopId));
+            eventPublisher.publishEvent(new SeatsFreedEvent(workshopId));
+            return toDto(workshopId, CANCELLED, capacity, null);
+        }
+        if (waitlistRepository.delete(workshopId, userUuid)) {
+            Capacity capacity = participantRepository.findCapacity(workshopId).orElseThrow();
+            return toDto(workshopId, CANCELLED, capacity, null);
+        }
+        throw new ResourceNotFoundException("You are not registered for workshop with ID: " + workshopId);
+    }
+
+    private static ParticipationDto toDto(Long workshopId, String status, Capacity capacity, Integer position) {
+        return new ParticipationDto("w_" + workshopId, status,
+                capacity.participantCount(), capacity.maxParticipants(), position);
+    }
+
+    private static UUID parseUserId(String userId) {
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            throw new DomainException("Invalid user ID format: " + userId, e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.ReviewDto;
+import club.skillswap.skillswapbackend.workshop.dto.ReviewRequestDto;
+
+public interface WorkshopReviewService {
+
+    // 每个参与者对每个 Workshop 只能评价一次
+    ReviewDto submit(Long workshopId, String userId, ReviewRequestDto request);
+}
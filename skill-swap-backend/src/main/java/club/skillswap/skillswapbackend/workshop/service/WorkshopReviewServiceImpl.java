@@ -0,0 +1,79 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.common.exception.DomainException;
+import club.skillswap.skillswapbackend.common.exception.ResourceNotFoundException;
+import club.skillswap.skillswapbackend.user.dto.RatingSummaryDto;
+import club.skillswap.skillswapbackend.user.event.RatingSummaryChangedEvent;
+import club.skillswap.skillswapbackend.user.repository.ReviewRepository;
+import club.skillswap.skillswapbackend.workshop.dto.ReviewDto;
+import club.skillswap.skillswapbackend.workshop.dto.ReviewRequestDto;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopParticipantRepository;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopParticipantRepository.Capacity;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class WorkshopReviewServiceImpl implements WorkshopReviewService {
+
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    private final ReviewRepository reviewRepository;
+    private final WorkshopParticipantRepository participantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 评价和主持人评分汇总的累加在同一个事务、同一条 SQL 里完成。
+     * 插入失败时才再查一次原因。
+     */
+    @Override
+    @Transactional
+    public ReviewDto submit(Long workshopId, String userId, ReviewRequestDto request) {
+        UUID reviewerId = parseUserId(userId);
+        BigDecimal rating = request.rating();
+        if (rating.remainder(HALF).signum() != 0) {
+            throw new DomainException("Rating must be in steps of 0.5.");
+        }
+        String comment = request.comment() == null || request.comment().isBlank() ? null : request.comment().trim();
+
+        RatingSummaryDto hostRating = reviewRepository.insertAndApply(workshopId, reviewerId, rating, comment)
+                .orElseThrow(() -> rejection(workshopId, reviewerId));
+        eventPublisher.publishEvent(new RatingSummaryChangedEvent(
+                hostRating.userId(), hostRating.averageRating(), hostRating.reviewCount()));
+        return new ReviewDto("w_" + workshopId, rating, comment, hostRating);
+    }
+
+    private RuntimeException rejection(long workshopId, UUID reviewerId) {
+        Optional<Capacity> workshop = participantRepository.findCapacity(workshopId);
+        if (workshop.isEmpty()) {
+            return new ResourceNotFoundException("Workshop not found with ID: " + workshopId);
+        }
+        if (!participantRepository.exists(workshopId, reviewerId)) {
+            return new ResponseStatusException(HttpStatus.FORBIDDEN, "Only participants can review this workshop.");
+        }
+        if (reviewRepository.exists(workshopId, reviewerId)) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "You have already reviewed this workshop.");
+        }
+        if (!"completed".equals(workshop.get().status())) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Workshop can only be reviewed after it has ended.");
+        }
+        return new DomainException("You cannot review your own workshop.");
+    }
+
+    private static UUID parseUserId(String userId) {
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            throw new DomainException("Invalid user ID format: " + userId, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.common.web.ETags;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopPageDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Workshop 详情和列表页的 ETag。
+ * 304 预检（只查版本号）和正常返回（由 DTO 计算）必须得到相同的值，所以统一在这里生成。
+ */
+public final class WorkshopRevisions {
+
+    private WorkshopRevisions() {
+    }
+
+    public static String etag(WorkshopResponseDto workshop) {
+        return ETags.weak(itemRevision(workshop));
+    }
+
+    public static String etag(WorkshopPageDto page) {
+        List<String> items = page.items().stream().map(WorkshopRevisions::itemRevision).toList();
+        return etagOfPage(items, page.nextCursor() != null);
+    }
+
+    // 单条：与 WorkshopReadRepository 的 SELECT_REVISION 格式一致，"w_{id}@{revision}"
+    static String itemRevision(WorkshopResponseDto workshop) {
+        return workshop.id() + "@" + workshop.revision();
+    }
+
+    // 列表页：页内每条的版本 + 是否还有下一页
+    static String etagOfPage(List<String> itemRevisions, boolean hasMore) {
+        String joined = String.join("|", itemRevisions) + (hasMore ? "|+" : "");
+        return ETags.weak(DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,337 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopCreatedEvent;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopDeletedEvent;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopReadRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Workshop 的进程内倒排索引（标题、描述、tag、分类），按 BM25 打分。
+ * 启动时从数据库全量构建一次，之后由创建/删除事件增量更新，搜索本身不访问数据库。
+ *
+ * 文档在索引内部用递增的 int 序号表示，倒排表是按序号递增的 int 数组。
+ * 删除只做标记，删除比例过高时整体压缩一次。
+ */
+@Component
+public class WorkshopSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkshopSearchIndex.class);
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // 字段权重：标题命中比描述命中更重要
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "in", "is",
+            "it", "of", "on", "or", "that", "the", "this", "to", "with", "you", "your");
+
+    private final WorkshopReadRepository workshopReadRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Long, Integer> docByWorkshopId = new HashMap<>();
+    private long[] workshopIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveDocs;
+    private long totalLength;
+
+    public WorkshopSearchIndex(WorkshopReadRepository workshopReadRepository) {
+        this.workshopReadRepository = workshopReadRepository;
+    }
+
+    /**
+     * 启动完成后全量构建。构建期间到达的创建事件会等待写锁，重复的 ID 会被覆盖，不会重复计入。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            clear();
+            workshopReadRepository.forEachSearchDocument(
+                    (id, title, description, category, tags) -> add(id, title, description, category, tags));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Workshop search index built: {} docs, {} terms in {} ms",
+                liveDocs, postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onCreated(WorkshopCreatedEvent event) {
+        WorkshopResponseDto w = event.workshop();
+        lock.writeLock().lock();
+        try {
+            add(Long.parseLong(w.id().substring(2)), w.title(), w.description(), w.category(), event.tags());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onDeleted(WorkshopDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.workshopId());
+            if (deleted.cardinality() > 1024 && deleted.cardinality() > docCount / 5) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 返回按相关度从高到低排序的 Workshop ID，最多 limit 个。
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            float[] scores = new float[docCount];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            float avgLength = (float) totalLength / liveDocs;
+
+            for (String term : new LinkedHashSet<>(terms)) {
+                Postings p = postings.get(term);
+                if (p == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (liveDocs - p.size + 0.5) / (p.size + 0.5));
+                for (int i = 0; i < p.size; i++) {
+                    int doc = p.docs[i];
+                    if (deleted.get(doc)) {
+                        continue;
+                    }
+                    int tf = p.freqs[i];
+                    float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                    if (scores[doc] == 0f) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            // 小顶堆保留分数最高的 limit 个
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                    (a, b) -> Float.compare(scores[a], scores[b]));
+            for (int i = 0; i < touchedCount; i++) {
+                top.offer(touched[i]);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            Long[] result = new Long[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = workshopIds[top.poll()];
+            }
+            return Arrays.asList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============== 以下方法都要求调用方持有写锁 ==============
+
+    private void add(long workshopId, String title, String description, String category, Collection<String> tags) {
+        remove(workshopId);
+
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        length += addTerms(termFreqs, title, TITLE_WEIGHT);
+        length += addTerms(termFreqs, description, DESCRIPTION_WEIGHT);
+        length += addTerms(termFreqs, category, CATEGORY_WEIGHT);
+        if (tags != null) {
+            for (String tag : tags) {
+                length += addTerms(termFreqs, tag, TAG_WEIGHT);
+            }
+        }
+
+        int doc = docCount++;
+        if (doc == workshopIds.length) {
+            workshopIds = Arrays.copyOf(workshopIds, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        workshopIds[doc] = workshopId;
+        docLengths[doc] = length;
+        docByWorkshopId.put(workshopId, doc);
+        liveDocs++;
+        totalLength += length;
+
+        termFreqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new Postings()).append(doc, freq));
+    }
+
+    private void remove(long workshopId) {
+        Integer doc = docByWorkshopId.remove(workshopId);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        liveDocs--;
+        totalLength -= docLengths[doc];
+    }
+
+    /**
+     * 去掉已删除的文档并重新编号，倒排表的 df 也随之恢复准确。
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            remap[doc] = deleted.get(doc) ? -1 : next++;
+        }
+        long[] newIds = new long[Math.max(1024, next)];
+        int[] newLengths = new int[newIds.length];
+        Map<Long, Integer> newDocByWorkshopId = new HashMap<>(next * 2);
+        for (int doc = 0; doc < docCount; doc++) {
+            if (remap[doc] >= 0) {
+                newIds[remap[doc]] = workshopIds[doc];
+                newLengths[remap[doc]] = docLengths[doc];
+                newDocByWorkshopId.put(workshopIds[doc], remap[doc]);
+            }
+        }
+        Map<String, Postings> newPostings = new HashMap<>();
+        postings.forEach((term, p) -> {
+            Postings compacted = new Postings();
+            for (int i = 0; i < p.size; i++) {
+                int doc = remap[p.docs[i]];
+                if (doc >= 0) {
+                    compacted.append(doc, p.freqs[i]);
+                }
+            }
+            if (compacted.size > 0) {
+                newPostings.put(term, compacted);
+            }
+        });
+        postings = newPostings;
+        workshopIds = newIds;
+        docLengths = newLengths;
+        docByWorkshopId = newDocByWorkshopId;
+        deleted = new BitSet();
+        docCount = next;
+    }
+
+    private void clear() {
+        postings = new HashMap<>();
+        docByWorkshopId = new HashMap<>();
+        workshopIds = new long[1024];
+        docLengths = new int[1024];
+        deleted = new BitSet();
+        docCount = 0;
+        liveDocs = 0;
+        totalLength = 0;
+    }
+
+    private static int addTerms(Map<String, Integer> termFreqs, String text, int weight) {
+        List<String> terms = tokenize(text);
+        for (String term : terms) {
+            termFreqs.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    /**
+     * 小写后按非字母数字切分；中日韩文字没有空格分词，按单字切分。
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); ) {
+            int cp = lower.codePointAt(i);
+            int next = i + Character.charCount(cp);
+            if (Character.isIdeographic(cp)) {
+                flush(tokens, lower, start, i);
+                start = -1;
+                tokens.add(lower.substring(i, next));
+            } else if (Character.isLetterOrDigit(cp)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else {
+                flush(tokens, lower, start, i);
+                start = -1;
+            }
+            i = next;
+        }
+        flush(tokens, lower, start, lower.length());
+        return tokens;
+    }
+
+    private static void flush(List<String> tokens, String text, int start, int end) {
+        if (start >= 0) {
+            String token = text.substring(start, end);
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+    }
+
+    /**
+     * 单个词的倒排表：docs 按文档序号递增，freqs 是加权后的词频。
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void append(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package club.skillswap.skillswapbackend.workshop.service;
 
 import club.skillswap.skillswapbackend.workshop.dto.WorkshopCreateRequestDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopPageDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopQuery;
 import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
 
 import org.springframework.security.core.Authentication;
@@ -13,7 +15,15 @@ public interface WorkshopService {
 
     WorkshopResponseDto getWorkshopById(Long id);
 
-    List<WorkshopResponseDto> getAllWorkshops();
+    WorkshopPageDto getWorkshops(WorkshopQuery query);
+
+    // 按相关度排序的全文搜索，不查数据库做匹配
+    List<WorkshopResponseDto> searchWorkshops(String q, int limit);
+
+    // ETag 预检：只返回版本对应的 ETag，不构建 DTO
+    String getWorkshopEtag(Long id);
+
+    String getWorkshopsEtag(WorkshopQuery query);
     
     void deleteWorkshop(Long workshopId, Authentication authentication);
 }
\ No newline at end of file
@@ -1,36 +1,60 @@
 package club.skillswap.skillswapbackend.workshop.service;
 
+import club.skillswap.skillswapbackend.common.audit.AuditLogger;
+import club.skillswap.skillswapbackend.common.exception.DomainException;
 import club.skillswap.skillswapbackend.common.exception.ResourceNotFoundException;
+import club.skillswap.skillswapbackend.common.web.ETags;
 import club.skillswap.skillswapbackend.user.entity.UserAccount;
 import club.skillswap.skillswapbackend.user.service.UserService;
 import club.skillswap.skillswapbackend.workshop.dto.WorkshopCreateRequestDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopCursor;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopPageDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopQuery;
 import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
 import club.skillswap.skillswapbackend.workshop.dto.FacilitatorDto;
 import club.skillswap.skillswapbackend.workshop.entity.Workshop;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopCreatedEvent;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopDeletedEvent;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopReadRepository;
 import club.skillswap.skillswapbackend.workshop.repository.WorkshopRepository;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class WorkshopServiceImpl implements WorkshopService {
 
     private final WorkshopRepository workshopRepository;
+    private final WorkshopReadRepository workshopReadRepository;
+    private final WorkshopCache workshopCache;
+    private final WorkshopSearchIndex workshopSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     private final UserService userService;
+    private final AuditLogger auditLogger;
 
     @Override
     @Transactional
     public WorkshopResponseDto createWorkshop(WorkshopCreateRequestDto createRequestDto, String facilitatorId) {
+        // 0. date/time 是列表分页的排序键，必须提供
+        if (createRequestDto.date() == null || createRequestDto.time() == null) {
+            throw new DomainException("Workshop date and time are required.");
+        }
+
         // 1. 根据 facilitatorId 查找用户
         UserAccount facilitator = userService.findUserByStringId(facilitatorId);
 
@@ -57,31 +81,82 @@ public class WorkshopServiceImpl implements WorkshopService {
         // 3. 保存到数据库
         Workshop savedWorkshop = workshopRepository.save(workshop);
 
-        // 4. 将保存后的 Entity 转换回 Response DTO 并返回
-        return mapToDto(savedWorkshop);
+        // 4. 将保存后的 Entity 转换回 Response DTO 并返回（事务提交后缓存会按事件失效）
+        WorkshopResponseDto created = mapToDto(savedWorkshop);
+        eventPublisher.publishEvent(new WorkshopCreatedEvent(created, createRequestDto.tags()));
+        auditLogger.record(facilitator.getId(), "WORKSHOP_CREATED", "Workshop", savedWorkshop.getId().toString(),
+                Map.of("title", savedWorkshop.getTitle()));
+        return created;
     }
 
+    // 下面三个读方法的结果会放进缓存，不开只读事务：未命中时从主库加载。
+    // 副本可能落后，从副本读到的旧数据一旦进了缓存，会在整个 TTL 内返回，ETag 也跟着是旧的
     @Override
-    @Transactional(readOnly = true)
     public WorkshopResponseDto getWorkshopById(Long id) {
-        Workshop workshop = workshopRepository.findByIdWithDetails(id)
+        WorkshopResponseDto workshop = workshopCache.getById(id,
+                key -> workshopReadRepository.findDtoById(key).orElse(null));
+        if (workshop == null) {
+            throw new ResourceNotFoundException("Workshop not found with ID: " + id);
+        }
+        return workshop;
+    }
+
+    @Override
+    public WorkshopPageDto getWorkshops(WorkshopQuery query) {
+        return workshopCache.getPage(query, this::loadPage);
+    }
+
+    @Override
+    public List<WorkshopResponseDto> searchWorkshops(String q, int limit) {
+        if (q == null || q.isBlank()) {
+            throw new DomainException("Search query must not be blank.");
+        }
+        int clamped = Math.max(1, Math.min(limit, WorkshopQuery.MAX_LIMIT));
+        // 索引只给出排好序的 ID，详情优先从缓存取，缺的一条 SQL 补齐
+        List<Long> ids = workshopSearchIndex.search(q, clamped);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return workshopCache.getByIds(ids, workshopReadRepository::findDtosByIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getWorkshopEtag(Long id) {
+        // 缓存里有就直接用，不查库
+        WorkshopResponseDto cached = workshopCache.peekById(id);
+        if (cached != null) {
+            return WorkshopRevisions.etag(cached);
+        }
+        String revision = workshopReadRepository.findRevisionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Workshop not found with ID: " + id));
-        
-        return mapToDto(workshop);
+        return ETags.weak(revision);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<WorkshopResponseDto> getAllWorkshops() {
-        List<Workshop> workshops = workshopRepository.findAllWithFacilitator();
-        // 触发懒加载
-        workshops.forEach(w -> {
-            w.getLocation().size();
-            w.getTags().size();
-            w.getMaterials().size();
-            w.getRequirements().size();
-        });
-        return workshops.stream().map(this::mapToDto).toList();
+    public String getWorkshopsEtag(WorkshopQuery query) {
+        WorkshopPageDto cached = workshopCache.peekPage(query);
+        if (cached != null) {
+            return WorkshopRevisions.etag(cached);
+        }
+        List<String> revisions = workshopReadRepository.findPageRevisions(query);
+        boolean hasMore = revisions.size() > query.limit();
+        return WorkshopRevisions.etagOfPage(hasMore ? revisions.subList(0, query.limit()) : revisions, hasMore);
+    }
+
+    private WorkshopPageDto loadPage(WorkshopQuery query) {
+        // 一条 SQL 查出这一页（多查一条，用来判断是否还有下一页）
+        List<WorkshopResponseDto> rows = workshopReadRepository.findPage(query);
+        if (rows.size() <= query.limit()) {
+            return new WorkshopPageDto(rows, null);
+        }
+
+        // 用这一页最后一条记录生成下一页的游标
+        List<WorkshopResponseDto> page = rows.subList(0, query.limit());
+        WorkshopResponseDto last = page.get(page.size() - 1);
+        String nextCursor = new WorkshopCursor(last.date(), last.time(), parseWorkshopId(last.id())).encode();
+        return new WorkshopPageDto(List.copyOf(page), nextCursor);
     }
 
     @Override
@@ -111,10 +186,13 @@ public class WorkshopServiceImpl implements WorkshopService {
 
         // 5. 如果权限校验通过，则执行删除操作
         workshopRepository.delete(workshop);
+        eventPublisher.publishEvent(new WorkshopDeletedEvent(workshopId));
+        auditLogger.record(isAdmin ? parseUserId(currentUserId) : workshop.getFacilitator().getId(), "WORKSHOP_DELETED", "Workshop", workshopId.toString(),
+                Map.of("title", workshop.getTitle(), "facilitatorId", facilitatorId, "byAdmin", isAdmin));
     }
 
-    // 私有辅助方法，用于将 Entity 映射到 DTO
-    private WorkshopResponseDto mapToDto(Workshop workshop) {
+    // 辅助方法，用于将 Entity 映射到 DTO（只读查询走 WorkshopReadRepository，不经过这里）
+    static WorkshopResponseDto mapToDto(Workshop workshop) {
 
         // 创建嵌套的 FacilitatorDto
         FacilitatorDto facilitatorDto = new FacilitatorDto(
@@ -137,10 +215,24 @@ public class WorkshopServiceImpl implements WorkshopService {
             workshop.getMaxParticipants(),
             workshop.getCreditReward(),
             facilitatorDto,
-            workshop.getCreatedAt()
+            workshop.getCreatedAt(),
+            null // 写路径返回的 DTO 不带 ETag
             );
     }
 
+    // DTO 里的 ID 带有 "w_" 前缀
+    private static long parseWorkshopId(String dtoId) {
+        return Long.parseLong(dtoId.substring(2));
+    }
+
+    private static UUID parseUserId(String userId) {
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private String extractUserId(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Please login.");
@@ -0,0 +1,171 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopCreatedEvent;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopStatusChangedEvent;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopStatusRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+/**
+ * 按时间推进 Workshop 状态：开始时间到了 upcoming → ongoing，结束时间到了 → completed。
+ *
+ * 不按固定间隔轮询：每轮推进完查出下一个开始/结束时间点，把下一轮排在那一刻。
+ * 新建的 Workshop 比已排好的时间更早开始时提前下一轮；最长 max-interval 也会跑一次兜底
+ * （比如别的实例建的 Workshop，本实例收不到事件）。
+ * 每批一个短事务，一批最多 batch-size 条，停机后补跑大量积压也不会长时间锁表。
+ */
+@Component
+public class WorkshopStatusScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkshopStatusScheduler.class);
+
+    // 有行被别的实例锁着时边界可能已经过去，至少隔这么久再试，避免空转
+    private static final Duration MIN_DELAY = Duration.ofSeconds(1);
+
+    private final WorkshopStatusRepository statusRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final Duration maxInterval;
+    private final ZoneId zone;
+    private final Clock clock;
+
+    private final Object scheduleLock = new Object();
+    private ScheduledFuture<?> nextRun;
+    private Instant nextRunAt;
+    // 本轮开始后新建的 Workshop 里最早的开始时间；本轮查下一个边界时可能还没看到它们
+    private Instant createdSinceRun;
+
+    public WorkshopStatusScheduler(WorkshopStatusRepository statusRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TaskScheduler taskScheduler,
+                                   PlatformTransactionManager transactionManager,
+                                   Clock clock,
+                                   @Value("${app.workshops.status.batch-size:500}") int batchSize,
+                                   @Value("${app.workshops.status.max-interval:10m}") Duration maxInterval,
+                                   @Value("${app.workshops.time-zone:UTC}") ZoneId zone) {
+        this.statusRepository = statusRepository;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInterval = maxInterval;
+        this.zone = zone;
+        this.clock = clock.withZone(zone);
+    }
+
+    /**
+     * 启动后马上跑第一轮，补上停机期间到期的推进；放到调度线程上执行，不占用启动线程。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        synchronized (scheduleLock) {
+            schedule(clock.instant());
+        }
+    }
+
+    /**
+     * 推进所有已到期的 Workshop，然后排下一轮。出错时等 max-interval 后重试。
+     */
+    public synchronized void advance() {
+        synchronized (scheduleLock) {
+            createdSinceRun = null;
+        }
+        Instant next;
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            // 先处理已结束的，停机期间整场错过的 upcoming 直接 completed，不经过 ongoing
+            int completed = drain(() -> statusRepository.completeDue("ongoing", now, batchSize), "completed")
+                    + drain(() -> statusRepository.completeDue("upcoming", now, batchSize), "completed");
+            int started = drain(() -> statusRepository.startDue(now, batchSize), "ongoing");
+            if (started > 0 || completed > 0) {
+                log.info("Workshop status: {} started, {} completed", started, completed);
+            }
+            next = statusRepository.findNextBoundary().map(at -> at.atZone(zone).toInstant()).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Workshop status update failed, retrying in {}", maxInterval, e);
+            next = null;
+        }
+        synchronized (scheduleLock) {
+            if (createdSinceRun != null && (next == null || createdSinceRun.isBefore(next))) {
+                next = createdSinceRun;
+            }
+            scheduleAt(next);
+        }
+    }
+
+    /**
+     * 新建的 Workshop 比下一轮更早开始时，把下一轮提前到它的开始时间。
+     */
+    @TransactionalEventListener
+    public void onCreated(WorkshopCreatedEvent event) {
+        WorkshopResponseDto created = event.workshop();
+        Instant startsAt = LocalDateTime.of(created.date(), created.time()).atZone(zone).toInstant();
+        synchronized (scheduleLock) {
+            if (createdSinceRun == null || startsAt.isBefore(createdSinceRun)) {
+                createdSinceRun = startsAt;
+            }
+            if (nextRunAt == null || startsAt.isBefore(nextRunAt)) {
+                scheduleAt(startsAt);
+            }
+        }
+    }
+
+    // 一批一个事务，直到不满一批；缓存在每批提交后按事件失效
+    private int drain(Supplier<List<Long>> batch, String status) {
+        int total = 0;
+        List<Long> changed;
+        do {
+            changed = tx.execute(txStatus -> {
+                List<Long> ids = batch.get();
+                if (!ids.isEmpty()) {
+                    eventPublisher.publishEvent(new WorkshopStatusChangedEvent(ids, status));
+                }
+                return ids;
+            });
+            total += changed.size();
+        } while (changed.size() >= batchSize);
+        return total;
+    }
+
+    private void scheduleAt(Instant boundary) {
+        Instant now = clock.instant();
+        Instant latest = now.plus(maxInterval);
+        Instant at = boundary == null || boundary.isAfter(latest) ? latest : boundary;
+        if (at.isBefore(now.plus(MIN_DELAY))) {
+            at = now.plus(MIN_DELAY);
+        }
+        schedule(at);
+    }
+
+    private void schedule(Instant at) {
+        synchronized (scheduleLock) {
+            if (nextRun != null) {
+                nextRun.cancel(false);
+            }
+            nextRunAt = at;
+            nextRun = taskScheduler.schedule(this::advance, at);
+        }
+    }
+}
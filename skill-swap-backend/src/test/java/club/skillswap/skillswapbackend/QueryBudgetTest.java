@@ -0,0 +1,180 @@
+package club.skillswap.skillswapbackend;
+
+import club.skillswap.skillswapbackend.common.web.SqlStatementCountFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 固定各接口每个请求执行的 SQL 条数（X-SQL-Statements 响应头）。
+ * 条数变了说明查询方式变了，比如映射 DTO 时懒加载了 facilitator 或技能列表（N+1）；
+ * 确认是有意的改动后再更新这里的预算。
+ * 需要 .env 里配置的本地数据库。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final List<UUID> users = new ArrayList<>();
+    private final List<Long> workshops = new ArrayList<>();
+    private String category;
+    private UUID host;
+    private UUID guest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 每次用新的分类，列表请求不会命中进程内缓存
+        category = "budget_" + UUID.randomUUID().toString().substring(0, 8);
+        host = newUser();
+        guest = newUser();
+        // 第一次访问 /me 时创建用户，之后的 /me 只读
+        mvc.perform(as(get("/api/v1/users/me"), host));
+        mvc.perform(as(get("/api/v1/users/me"), guest));
+        for (UUID user : users) {
+            mvc.perform(as(patch("/api/v1/users/me"), user)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"skills\": [\"java\", \"sql\", \"" + category + "\"]}"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long id : workshops) {
+            jdbc.update("delete from workshop_participants where workshop_id = ?", id);
+            jdbc.update("delete from workshop_tags where workshop_id = ?", id);
+            jdbc.update("delete from workshops where id = ?", id);
+        }
+        for (UUID id : users) {
+            jdbc.update("delete from user_skill where user_id = ?", id);
+            jdbc.update("delete from review where reviewer_id = ? or host_id = ?", id, id);
+            jdbc.update("delete from audit_log where actor_id = ?", id);
+            jdbc.update("delete from user_account where id = ?", id);
+        }
+        jdbc.update("delete from skill where name like ?", category + "%");
+    }
+
+    @Test
+    void userEndpoints() throws Exception {
+        assertBudget(as(get("/api/v1/users/me"), host), 1);
+        // 技能和用户一起 join fetch，技能再多也是一条
+        assertBudget(get("/api/v1/users/" + host), 1);
+        // 还没有评价：汇总查不到，再确认一次用户存在
+        assertBudget(get("/api/v1/users/" + host + "/rating"), 2);
+        // 打分在内存索引里完成，只查一次匹配用户的用户名和头像
+        assertBudget(as(get("/api/v1/users/me/matches"), host), 1);
+        assertBudget(get("/api/v1/users/leaderboard"), 0);
+    }
+
+    // 技能名都用本次新建的，技能目录里一定还没有，条数不受数据库里已有数据影响
+    @Test
+    void profileMutations() throws Exception {
+        assertBudget(as(patch("/api/v1/users/me"), host)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"bio\": \"budget\"}"), 2);
+        assertBudget(as(patch("/api/v1/users/me"), host)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skills\": [\"java\", \"" + category + "_a\", \"" + category + "_b\"]}"), 5);
+        assertBudget(as(post("/api/v1/users/me/skills"), host)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skillName\": \"" + category + "_c\", \"skillLevel\": \"advanced\"}"), 4);
+        assertBudget(as(post("/api/v1/users/me/skills/delete"), host)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skillName\": \"" + category + "_c\"}"), 3);
+    }
+
+    @Test
+    void workshopEndpoints() throws Exception {
+        long first = createWorkshop(host, 4);
+        createWorkshop(guest, 4);
+        createWorkshop(host, 1);
+
+        // 列表连同 facilitator 一条查询取出，不随条数或主持人数量增加
+        assertBudget(get("/api/v1/workshops").param("category", category), 1);
+        // 第二次命中缓存，不访问数据库
+        assertBudget(get("/api/v1/workshops").param("category", category), 0);
+        assertBudget(get("/api/v1/workshops/" + first), 1);
+        assertBudget(get("/api/v1/workshops/" + first), 0);
+    }
+
+    @Test
+    void workshopMutations() throws Exception {
+        MvcResult created = mvc.perform(as(post("/api/v1/workshops"), host)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(workshopJson(5))).andReturn();
+        assertThat(created.getResponse().getStatus()).isEqualTo(201);
+        long id = rememberWorkshop(created);
+        assertThat(statements(created)).as("POST /api/v1/workshops").isEqualTo(4);
+
+        assertBudget(as(post("/api/v1/workshops/" + id + "/participants"), guest), 2);
+    }
+
+    private void assertBudget(RequestBuilder request, int expected) throws Exception {
+        MvcResult result = mvc.perform(request).andReturn();
+        String label = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertThat(result.getResponse().getStatus()).as(label).isLessThan(300);
+        assertThat(statements(result)).as(label).isEqualTo(expected);
+    }
+
+    private static int statements(MvcResult result) {
+        String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+        assertThat(header).as("X-SQL-Statements header").isNotNull();
+        return Integer.parseInt(header);
+    }
+
+    private static MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, UUID user) {
+        return request.with(jwt().jwt(token -> token.subject(user.toString()).claim("email", user + "@example.com")));
+    }
+
+    private UUID newUser() {
+        UUID id = UUID.randomUUID();
+        users.add(id);
+        return id;
+    }
+
+    private long createWorkshop(UUID facilitator, int maxParticipants) throws Exception {
+        return rememberWorkshop(mvc.perform(as(post("/api/v1/workshops"), facilitator)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(workshopJson(maxParticipants))).andReturn());
+    }
+
+    private long rememberWorkshop(MvcResult result) throws Exception {
+        String body = result.getResponse().getContentAsString();
+        int start = body.indexOf("\"id\":\"w_") + "\"id\":\"w_".length();
+        long id = Long.parseLong(body.substring(start, body.indexOf('"', start)));
+        workshops.add(id);
+        return id;
+    }
+
+    private String workshopJson(int maxParticipants) {
+        return """
+                {"title": "Query budget", "description": "d", "category": "%s", "skillLevel": "Beginner",
+                 "duration": 60, "date": "2030-01-01", "time": "10:00", "isOnline": true,
+                 "maxParticipants": %d, "creditReward": 0, "tags": ["budget"]}
+                """.formatted(category, maxParticipants);
+    }
+}
@@ -0,0 +1,201 @@
+package club.skillswap.skillswapbackend.common.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 读写分离路由，跑在两个真实的 Postgres 实例上：主库用 .env 里的 spring.datasource.url，
+ * 副本用 REPLICA_DB_URLS 的第一个地址；没配置副本时跳过。
+ * 靠 inet_server_port() 区分连接来自哪个实例，所以两个实例要用不同端口。
+ * 延迟保护的用例需要副本是主库的流复制备库（会暂停回放制造延迟），普通实例上跳过。
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PORT_SQL = "select inet_server_port()";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private int primaryPort;
+    private int replicaPort;
+
+    @BeforeEach
+    void setUp() {
+        String replicaUrls = setting("REPLICA_DB_URLS");
+        assumeTrue(replicaUrls != null && !replicaUrls.isBlank(), "REPLICA_DB_URLS is not set");
+        primary = pool("primary", setting("spring.datasource.url"));
+        replica = pool("replica-0", replicaUrls.split(",")[0].trim());
+        primaryPort = new JdbcTemplate(primary).queryForObject(PORT_SQL, Integer.class);
+        replicaPort = new JdbcTemplate(replica).queryForObject(PORT_SQL, Integer.class);
+        assumeTrue(primaryPort != replicaPort, "primary and replica must listen on different ports");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        Routing routing = new Routing(List.of(replica), 1000, Duration.ofSeconds(5));
+        // 第一次检查之前副本视为不可用
+        assertThat(routing.readOnlyPort()).isEqualTo(primaryPort);
+
+        routing.dataSource.checkReplicas();
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+        assertThat(routing.readWritePort()).isEqualTo(primaryPort);
+        // 不在事务里的访问走主库
+        assertThat(routing.jdbc.queryForObject(PORT_SQL, Integer.class)).isEqualTo(primaryPort);
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        HikariDataSource down = pool("replica-down", "jdbc:postgresql://127.0.0.1:1/skillswap");
+        Routing routing = new Routing(List.of(down), 1000, Duration.ofSeconds(5));
+        routing.dataSource.checkReplicas();
+        assertThat(routing.readOnlyPort()).isEqualTo(primaryPort);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws InterruptedException {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        assumeTrue(Boolean.TRUE.equals(replicaJdbc.queryForObject("select pg_is_in_recovery()", Boolean.class)),
+                "replica is not a streaming standby of the primary");
+        Routing routing = new Routing(List.of(replica), 200, Duration.ofSeconds(5));
+        routing.dataSource.checkReplicas();
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+
+        replicaJdbc.execute("select pg_wal_replay_pause()");
+        try {
+            // 主库有新的 WAL，备库收到了但不回放，延迟随时间增长
+            new JdbcTemplate(primary).execute("select txid_current()");
+            Thread.sleep(500);
+            routing.dataSource.checkReplicas();
+            assertThat(routing.readOnlyPort()).isEqualTo(primaryPort);
+        } finally {
+            replicaJdbc.execute("select pg_wal_replay_resume()");
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        int port;
+        do {
+            Thread.sleep(50);
+            routing.dataSource.checkReplicas();
+            port = routing.readOnlyPort();
+        } while (port != replicaPort && System.nanoTime() < deadline);
+        assertThat(port).isEqualTo(replicaPort);
+    }
+
+    @Test
+    void replicaWithStaleCheckFallsBackToPrimary() throws InterruptedException {
+        Routing routing = new Routing(List.of(replica), 1000, Duration.ofSeconds(5), Duration.ofMillis(300));
+        routing.dataSource.checkReplicas();
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+
+        // 检查停了，上一次的结果过期后不再信任
+        Thread.sleep(400);
+        assertThat(routing.readOnlyPort()).isEqualTo(primaryPort);
+
+        routing.dataSource.checkReplicas();
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+    }
+
+    @Test
+    void writerReadsFromPrimaryUntilStickyExpires() throws InterruptedException {
+        Routing routing = new Routing(List.of(replica), 1000, Duration.ofMillis(300));
+        routing.dataSource.checkReplicas();
+
+        signIn("alice");
+        routing.readWritePort();
+        assertThat(routing.readOnlyPort()).isEqualTo(primaryPort);
+
+        // 其他用户不受影响
+        signIn("bob");
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+
+        // 不在事务里的读（自动提交）走主库，但不算写过
+        assertThat(routing.jdbc.queryForObject(PORT_SQL, Integer.class)).isEqualTo(primaryPort);
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+
+        // 回滚的写事务不算写过
+        routing.tx.execute(status -> {
+            routing.jdbc.queryForObject(PORT_SQL, Integer.class);
+            status.setRollbackOnly();
+            return null;
+        });
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+
+        signIn("alice");
+        Thread.sleep(400);
+        assertThat(routing.readOnlyPort()).isEqualTo(replicaPort);
+    }
+
+    private static void signIn(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null, "ROLE_USER"));
+    }
+
+    private HikariDataSource pool(String name, String url) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(setting("spring.datasource.username"));
+        config.setPassword(setting("DB_PASSWORD"));
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(2000);
+        config.setInitializationFailTimeout(-1);
+        HikariDataSource pool = new HikariDataSource(config);
+        pools.add(pool);
+        return pool;
+    }
+
+    private static String setting(String key) {
+        String value = System.getProperty(key);
+        return value != null ? value : System.getenv(key);
+    }
+
+    // 和应用里一样套在 LazyConnectionDataSourceProxy 里，借连接时事务的只读标记已经设好
+    private class Routing {
+        final ReadWriteRoutingDataSource dataSource;
+        final JdbcTemplate jdbc;
+        final TransactionTemplate tx;
+        final TransactionTemplate readOnlyTx;
+
+        Routing(List<HikariDataSource> replicas, long maxLagMs, Duration sticky) {
+            this(replicas, maxLagMs, sticky, Duration.ofMinutes(1));
+        }
+
+        Routing(List<HikariDataSource> replicas, long maxLagMs, Duration sticky, Duration staleAfter) {
+            dataSource = new ReadWriteRoutingDataSource(primary, replicas, maxLagMs, sticky, staleAfter);
+            LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(lazy);
+            jdbc = new JdbcTemplate(lazy);
+            tx = new TransactionTemplate(transactionManager);
+            readOnlyTx = new TransactionTemplate(transactionManager);
+            readOnlyTx.setReadOnly(true);
+        }
+
+        int readOnlyPort() {
+            return readOnlyTx.execute(status -> jdbc.queryForObject(PORT_SQL, Integer.class));
+        }
+
+        int readWritePort() {
+            return tx.execute(status -> jdbc.queryForObject(PORT_SQL, Integer.class));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.common.config.CachingJwtDecoder;
+import club.skillswap.skillswapbackend.workshop.dto.FacilitatorDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopReadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 导出写到一半读库失败时，客户端必须看到传输中断，而不是一个正常结束、只是少了行的 200。
+ * 走真实的 Tomcat 连接；数据库读取换成 mock，写出若干行后抛异常。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WorkshopExportAbortTest {
+
+    // 足够多的行，保证失败前响应已经提交、gzip 缓冲区也已经刷出过
+    private static final int ROWS_BEFORE_FAILURE = 5_000;
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private WorkshopReadRepository workshopReadRepository;
+
+    @MockitoBean
+    private CachingJwtDecoder jwtDecoder;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        Jwt admin = Jwt.withTokenValue("admin")
+                .header("alg", "none")
+                .subject("00000000-0000-0000-0000-00000000e001")
+                .claim("app_metadata", Map.of("roles", List.of("ADMIN")))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        when(jwtDecoder.decode(anyString())).thenReturn(admin);
+        when(workshopReadRepository.streamAll()).thenAnswer(invocation -> failingStream());
+    }
+
+    @Test
+    void plainExportIsCutOffWhenTheDatabaseFails() throws Exception {
+        HttpResponse<InputStream> response = export("identity");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertTruncated(response.body());
+    }
+
+    @Test
+    void gzipExportIsCutOffWhenTheDatabaseFails() throws Exception {
+        HttpResponse<InputStream> response = export("gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        // 没有 gzip 尾部也没有结束块：要么连接先报错，要么解压读到 EOF
+        assertTruncated(new GZIPInputStream(response.body()));
+    }
+
+    private HttpResponse<InputStream> export(String encoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/workshops/export"))
+                .header("Authorization", "Bearer admin")
+                .header("Accept-Encoding", encoding)
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static void assertTruncated(InputStream body) {
+        AtomicInteger lines = new AtomicInteger();
+        assertThatThrownBy(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                while (reader.readLine() != null) {
+                    lines.incrementAndGet();
+                }
+            }
+        }).isInstanceOf(IOException.class);
+        assertThat(lines.get()).isPositive().isLessThanOrEqualTo(ROWS_BEFORE_FAILURE);
+    }
+
+    private static Stream<WorkshopResponseDto> failingStream() {
+        AtomicInteger emitted = new AtomicInteger();
+        return Stream.generate(() -> {
+            int n = emitted.incrementAndGet();
+            if (n > ROWS_BEFORE_FAILURE) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            return workshop(n);
+        });
+    }
+
+    private static WorkshopResponseDto workshop(int n) {
+        return new WorkshopResponseDto("w_" + n, "Workshop " + n, "Exported row " + n, "test", "Beginner",
+                "upcoming", LocalDate.of(2026, 3, 1), LocalTime.of(10, 0), true, Set.of("Online"), 10, 0,
+                new FacilitatorDto("u_1", "host", null), LocalDateTime.of(2026, 1, 1, 0, 0), "1.0");
+    }
+}
@@ -0,0 +1,190 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.ParticipationDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 并发报名压测：大量用户同时抢少量名额，不能超卖，计数必须和报名记录一致；
+ * 没抢到的进候补队列，空出名额后按顺序递补。
+ * 需要 .env 里配置的本地数据库。
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=16")
+class WorkshopParticipationConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int USERS = 200;
+    private static final int CAPACITY = 25;
+
+    @Autowired
+    private WorkshopParticipationService participationService;
+
+    @Autowired
+    private WaitlistPromoter promoter;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final List<UUID> users = new ArrayList<>();
+    private long workshopId;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "stress_" + UUID.randomUUID().toString().substring(0, 8) + "_";
+        for (int i = 0; i < USERS; i++) {
+            UUID id = UUID.randomUUID();
+            jdbc.update("insert into user_account (id, username, created_at, updated_at) values (?, ?, now(), now())",
+                    id, prefix + i);
+            users.add(id);
+        }
+        workshopId = jdbc.queryForObject("""
+                insert into workshops (title, category, skill_level, status, date, time, is_online, duration,
+                                       max_participants, credit_reward, facilitator_id, created_at, version, participant_count)
+                values ('stress', 'test', 'Beginner', 'upcoming', current_date + 30, '10:00', true, 60,
+                        ?, 0, ?, now(), 0, 0)
+                returning id
+                """, Long.class, CAPACITY, users.get(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from workshop_participants where workshop_id = ?", workshopId);
+        jdbc.update("delete from workshop_waitlist where workshop_id = ?", workshopId);
+        jdbc.update("delete from workshops where id = ?", workshopId);
+        for (UUID id : users) {
+            jdbc.update("delete from user_account where id = ?", id);
+        }
+    }
+
+    @Test
+    void concurrentJoinsNeverOverbook() throws Exception {
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger waitlisted = new AtomicInteger();
+
+        runConcurrently(users.stream().<Callable<Void>>map(user -> () -> {
+            ParticipationDto result = participationService.join(workshopId, user.toString());
+            (result.status().equals("joined") ? joined : waitlisted).incrementAndGet();
+            return null;
+        }).toList());
+
+        assertThat(joined.get()).isEqualTo(CAPACITY);
+        assertThat(waitlisted.get()).isEqualTo(USERS - CAPACITY);
+        assertConsistent(CAPACITY);
+        assertThat(waitlistSize()).isEqualTo(USERS - CAPACITY);
+    }
+
+    @Test
+    void concurrentJoinsAndCancelsKeepCounterInSync() throws Exception {
+        // 先让前 CAPACITY 个用户报满
+        for (UUID user : users.subList(0, CAPACITY)) {
+            participationService.join(workshopId, user.toString());
+        }
+
+        // 已报名的用户同时取消，其余用户同时抢空出来的名额
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String user = users.get(i).toString();
+            boolean cancel = i < CAPACITY;
+            tasks.add(() -> {
+                if (cancel) {
+                    participationService.cancel(workshopId, user);
+                } else {
+                    participationService.join(workshopId, user);
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        // 直接报名和递补加起来正好把空出来的名额补满，其余的人还在排队
+        promoter.promote(workshopId);
+        assertConsistent(CAPACITY);
+        assertThat(waitlistSize()).isEqualTo(USERS - 2 * CAPACITY);
+    }
+
+    @Test
+    void freedSeatsArePromotedInQueueOrder() throws Exception {
+        for (UUID user : users.subList(0, CAPACITY)) {
+            participationService.join(workshopId, user.toString());
+        }
+        List<UUID> queue = users.subList(CAPACITY, CAPACITY + 10);
+        for (int i = 0; i < queue.size(); i++) {
+            ParticipationDto result = participationService.join(workshopId, queue.get(i).toString());
+            assertThat(result.status()).isEqualTo("waitlisted");
+            assertThat(result.waitlistPosition()).isEqualTo(i + 1);
+        }
+
+        for (UUID user : users.subList(0, 3)) {
+            participationService.cancel(workshopId, user.toString());
+        }
+        // 几个线程同时递补同一个 Workshop，结果必须和串行一样
+        runConcurrently(List.<Callable<Void>>of(
+                () -> { promoter.promote(workshopId); return null; },
+                () -> { promoter.promote(workshopId); return null; },
+                () -> { promoter.promote(workshopId); return null; },
+                () -> { promoter.promote(workshopId); return null; }));
+
+        assertConsistent(CAPACITY);
+        for (UUID promoted : queue.subList(0, 3)) {
+            assertThat(isParticipant(promoted)).isTrue();
+        }
+        List<UUID> remaining = jdbc.queryForList(
+                "select user_id from workshop_waitlist where workshop_id = ? order by id", UUID.class, workshopId);
+        assertThat(remaining).containsExactlyElementsOf(queue.subList(3, queue.size()));
+    }
+
+    private boolean isParticipant(UUID user) {
+        return !jdbc.queryForList("select 1 from workshop_participants where workshop_id = ? and user_id = ?",
+                Integer.class, workshopId, user).isEmpty();
+    }
+
+    private int waitlistSize() {
+        return jdbc.queryForObject(
+                "select count(*) from workshop_waitlist where workshop_id = ?", Integer.class, workshopId);
+    }
+
+    private void assertConsistent(int expected) {
+        Integer rows = jdbc.queryForObject(
+                "select count(*) from workshop_participants where workshop_id = ?", Integer.class, workshopId);
+        Integer counter = jdbc.queryForObject(
+                "select participant_count from workshops where id = ?", Integer.class, workshopId);
+        assertThat(rows).isEqualTo(expected);
+        assertThat(counter).isEqualTo(expected);
+    }
+
+    private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
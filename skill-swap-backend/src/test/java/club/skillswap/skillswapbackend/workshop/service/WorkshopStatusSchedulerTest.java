@@ -0,0 +1,150 @@
+package club.skillswap.skillswapbackend.workshop.service;
+
+import club.skillswap.skillswapbackend.workshop.dto.FacilitatorDto;
+import club.skillswap.skillswapbackend.workshop.dto.WorkshopResponseDto;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopCreatedEvent;
+import club.skillswap.skillswapbackend.workshop.event.WorkshopStatusChangedEvent;
+import club.skillswap.skillswapbackend.workshop.repository.WorkshopStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 状态推进的排程逻辑：下一轮排在哪个时间点、什么时候提前。
+ * 时钟固定，数据库和调度器都换成 mock，不需要本地数据库。
+ */
+class WorkshopStatusSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+    private static final LocalDateTime NOW_LOCAL = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+    private static final Duration MAX_INTERVAL = Duration.ofMinutes(10);
+    private static final int BATCH_SIZE = 2;
+
+    private WorkshopStatusRepository repository;
+    private ApplicationEventPublisher publisher;
+    private TaskScheduler taskScheduler;
+    private WorkshopStatusScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(WorkshopStatusRepository.class);
+        publisher = mock(ApplicationEventPublisher.class);
+        taskScheduler = mock(TaskScheduler.class);
+        doReturn(mock(ScheduledFuture.class)).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        when(repository.completeDue(any(), any(), anyInt())).thenReturn(List.of());
+        when(repository.startDue(any(), anyInt())).thenReturn(List.of());
+        when(repository.findNextBoundary()).thenReturn(Optional.empty());
+        scheduler = new WorkshopStatusScheduler(repository, publisher, taskScheduler,
+                mock(PlatformTransactionManager.class), Clock.fixed(NOW, ZoneOffset.UTC),
+                BATCH_SIZE, MAX_INTERVAL, ZoneOffset.UTC);
+    }
+
+    @Test
+    void firstRunIsScheduledInsteadOfRunningOnStartup() {
+        scheduler.start();
+
+        verify(repository, never()).findNextBoundary();
+        assertThat(lastScheduled()).isEqualTo(NOW);
+    }
+
+    @Test
+    void nextRunIsAtTheNextBoundary() {
+        when(repository.findNextBoundary()).thenReturn(Optional.of(NOW_LOCAL.plusMinutes(3)));
+
+        scheduler.advance();
+
+        assertThat(lastScheduled()).isEqualTo(NOW.plus(Duration.ofMinutes(3)));
+    }
+
+    @Test
+    void nextRunIsClampedToMaxIntervalAndMinDelay() {
+        scheduler.advance();
+        assertThat(lastScheduled()).isEqualTo(NOW.plus(MAX_INTERVAL));
+
+        when(repository.findNextBoundary()).thenReturn(Optional.of(NOW_LOCAL.plusHours(5)));
+        scheduler.advance();
+        assertThat(lastScheduled()).isEqualTo(NOW.plus(MAX_INTERVAL));
+
+        // 边界已经过去（行被别的实例锁着没推进成），至少隔一秒再试
+        when(repository.findNextBoundary()).thenReturn(Optional.of(NOW_LOCAL.minusMinutes(1)));
+        scheduler.advance();
+        assertThat(lastScheduled()).isEqualTo(NOW.plusSeconds(1));
+    }
+
+    @Test
+    void fullBatchesAreDrainedAndPublishedOneByOne() {
+        when(repository.completeDue(eq("ongoing"), eq(NOW_LOCAL), eq(BATCH_SIZE)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        scheduler.advance();
+
+        verify(repository, times(2)).completeDue(eq("ongoing"), eq(NOW_LOCAL), eq(BATCH_SIZE));
+        verify(publisher).publishEvent(new WorkshopStatusChangedEvent(List.of(1L, 2L), "completed"));
+        verify(publisher).publishEvent(new WorkshopStatusChangedEvent(List.of(3L), "completed"));
+    }
+
+    @Test
+    void earlierWorkshopPullsTheNextRunForward() {
+        scheduler.advance();
+        assertThat(lastScheduled()).isEqualTo(NOW.plus(MAX_INTERVAL));
+
+        scheduler.onCreated(created(NOW_LOCAL.plusMinutes(2)));
+        assertThat(lastScheduled()).isEqualTo(NOW.plus(Duration.ofMinutes(2)));
+
+        // 比已排好的时间晚开始的不用重排
+        scheduler.onCreated(created(NOW_LOCAL.plusMinutes(5)));
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void workshopCreatedDuringARunIsNotMissed() {
+        // 本轮查下一个边界时还看不到这条新建的 Workshop，它的提交事件恰好在这期间到达
+        when(repository.findNextBoundary()).thenAnswer(invocation -> {
+            scheduler.onCreated(created(NOW_LOCAL.plusMinutes(4)));
+            return Optional.of(NOW_LOCAL.plusMinutes(8));
+        });
+
+        scheduler.advance();
+
+        assertThat(lastScheduled()).isEqualTo(NOW.plus(Duration.ofMinutes(4)));
+    }
+
+    private Instant lastScheduled() {
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, atLeastOnce()).schedule(any(Runnable.class), at.capture());
+        return at.getValue();
+    }
+
+    private static WorkshopCreatedEvent created(LocalDateTime startsAt) {
+        WorkshopResponseDto workshop = new WorkshopResponseDto("w_1", "t", null, "test", "Beginner", "upcoming",
+                startsAt.toLocalDate(), startsAt.toLocalTime(), true, Set.of(), 10, 0,
+                new FacilitatorDto("u_1", "host", null), NOW_LOCAL, "1.0");
+        return new WorkshopCreatedEvent(workshop, Set.of());
+    }
+}
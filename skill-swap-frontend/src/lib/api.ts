@@ -123,10 +123,11 @@ export const userAPI = {
 // WORKSHOP API
 // ----------------------
 export const workshopAPI = {
-  // Get all workshops from backend
+  // Get workshops from backend (first page; pass nextCursor back as `cursor` for more)
   getAll: async () => {
     try {
-      return await apiCall('/api/v1/workshops');
+      const page = await apiCall('/api/v1/workshops');
+      return page.items;
     } catch (error) {
       console.warn('Failed to fetch workshops from backend, using mock data:', error);
       return mockWorkshops;